@@ -0,0 +1,686 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Nivel frío de socios inactivos.
+ * Cada socio se serializa junto con sus cuentas en bloques comprimidos que se
+ * guardan fuera del heap (buffers directos), igual que las tablas hash que
+ * ubican un socio por cédula o por número de cuenta.
+ *
+ * No es seguro entre hilos: la {@link Cooperativa} sincroniza todo acceso.
+ * Las instantáneas sí pueden recorrerse desde cualquier hilo, porque los
+ * bloques sellados nunca se modifican.
+ */
+public final class AlmacenSociosInactivos {
+    private static final int REGISTROS_POR_BLOQUE = 256;
+    private static final int TAMANO_FRAGMENTO = 8 * 1024 * 1024;
+    private static final byte TIPO_AHORROS = 1;
+    private static final byte TIPO_CREDITO = 2;
+
+    public record Estadisticas(int socios, long cuentas, int bloques, long bytesComprimidos,
+                               long bytesSinComprimir, long bytesReservados, long registrosEliminados) {
+
+        public double razonCompresion() {
+            return bytesComprimidos == 0 ? 0.0 : (double) bytesSinComprimir / bytesComprimidos;
+        }
+    }
+
+    // Datos comprimidos fuera del heap
+    private List<ByteBuffer> fragmentos = new ArrayList<>();
+    private int desplazamientoFragmento = TAMANO_FRAGMENTO;
+
+    // Metadatos de los bloques sellados
+    private int numeroBloques;
+    private int[] bloqueFragmento = new int[16];
+    private int[] bloqueDesplazamiento = new int[16];
+    private int[] bloqueLongitud = new int[16];
+    private int[] bloqueLongitudOriginal = new int[16];
+
+    // Bloque abierto, aún sin comprimir
+    private byte[] bloqueAbierto = new byte[8 * 1024];
+    private int longitudAbierta;
+    private int registrosAbiertos;
+
+    private BitSet eliminados = new BitSet();
+    private TablaHash indiceCedulas = new TablaHash();
+    private TablaHash indiceCuentas = new TablaHash();
+
+    private int numeroSocios;
+    private long numeroCuentas;
+    private long bytesComprimidos;
+    private long bytesSinComprimir;
+    private long registrosEliminados;
+
+    // Liquidaciones que se aplican al leer, para que los socios inactivos queden al día
+    private int liquidacionAhorro;
+    private LocalDate fechaCausacionCreditos;
+    private double saldoTotal;
+    private boolean saldoTotalVigente = true;
+    // Aumenta con cada cambio de contenido o de liquidación; identifica las instantáneas
+    private long version;
+
+    /**
+     * Indica si todas las cuentas del socio son de un tipo que el almacén sabe serializar
+     */
+    public static boolean puedeArchivar(Socio socio) {
+        return socio.streamCuentas()
+                .allMatch(cuenta -> cuenta.getClass() == CuentaAhorros.class
+                        || cuenta.getClass() == CuentaCredito.class);
+    }
+
+    /**
+     * Serializa el socio con sus cuentas. El llamador debe tener bloqueadas las
+     * cuentas para que la copia sea consistente.
+     */
+    public void archivar(Socio socio) {
+        Objects.requireNonNull(socio, "El socio no puede ser nulo");
+        if (!puedeArchivar(socio)) {
+            throw new IllegalArgumentException("El socio " + socio.getCedula() + " tiene cuentas que no se pueden archivar");
+        }
+        if (contieneSocio(socio.getCedula())) {
+            throw new IllegalArgumentException("El socio " + socio.getCedula() + " ya está archivado");
+        }
+
+        byte[] registro = serializar(socio);
+        int indice = numeroBloques * REGISTROS_POR_BLOQUE + registrosAbiertos;
+        asegurarCapacidadAbierta(Integer.BYTES + registro.length);
+        ByteBuffer.wrap(bloqueAbierto, longitudAbierta, Integer.BYTES).putInt(registro.length);
+        System.arraycopy(registro, 0, bloqueAbierto, longitudAbierta + Integer.BYTES, registro.length);
+        longitudAbierta += Integer.BYTES + registro.length;
+        registrosAbiertos++;
+
+        indiceCedulas.agregar(hash(socio.getCedula()), indice);
+        socio.streamCuentas().forEach(cuenta -> indiceCuentas.agregar(hash(cuenta.getNumeroCuenta()), indice));
+        numeroSocios++;
+        numeroCuentas += socio.getCuentas().size();
+        version++;
+
+        boolean alDia = socio.streamCuentas()
+                .filter(CuentaAhorros.class::isInstance)
+                .map(CuentaAhorros.class::cast)
+                .allMatch(cuenta -> cuenta.getLiquidacionesAplicadas() >= liquidacionAhorro);
+        if (alDia) {
+            saldoTotal += socio.calcularSaldoTotal();
+        } else {
+            saldoTotalVigente = false;
+        }
+
+        if (registrosAbiertos == REGISTROS_POR_BLOQUE) {
+            sellarBloque();
+        }
+    }
+
+    /**
+     * Comprime el bloque abierto y lo mueve fuera del heap
+     */
+    public void sellarBloque() {
+        if (registrosAbiertos == 0) {
+            return;
+        }
+
+        byte[] comprimido = comprimir(bloqueAbierto, longitudAbierta);
+        ByteBuffer fragmento = reservarEspacio(comprimido.length);
+        int desplazamiento = desplazamientoFragmento;
+        fragmento.put(desplazamiento, comprimido, 0, comprimido.length);
+        desplazamientoFragmento += comprimido.length;
+
+        if (numeroBloques == bloqueFragmento.length) {
+            int capacidad = numeroBloques * 2;
+            bloqueFragmento = Arrays.copyOf(bloqueFragmento, capacidad);
+            bloqueDesplazamiento = Arrays.copyOf(bloqueDesplazamiento, capacidad);
+            bloqueLongitud = Arrays.copyOf(bloqueLongitud, capacidad);
+            bloqueLongitudOriginal = Arrays.copyOf(bloqueLongitudOriginal, capacidad);
+        }
+        bloqueFragmento[numeroBloques] = fragmentos.size() - 1;
+        bloqueDesplazamiento[numeroBloques] = desplazamiento;
+        bloqueLongitud[numeroBloques] = comprimido.length;
+        bloqueLongitudOriginal[numeroBloques] = longitudAbierta;
+        numeroBloques++;
+
+        bytesComprimidos += comprimido.length;
+        bytesSinComprimir += longitudAbierta;
+        longitudAbierta = 0;
+        registrosAbiertos = 0;
+    }
+
+    /**
+     * Saca al socio del almacén y devuelve su copia al día, o null si no está archivado
+     */
+    public Socio retirar(String cedula) {
+        Registro registro = buscarRegistro(cedula);
+        if (registro == null) {
+            return null;
+        }
+
+        int indice = registro.indice();
+        Socio socio = registro.socio();
+        eliminados.set(indice);
+        indiceCedulas.quitar(hash(cedula), indice);
+        socio.streamCuentas().forEach(cuenta -> indiceCuentas.quitar(hash(cuenta.getNumeroCuenta()), indice));
+        numeroSocios--;
+        numeroCuentas -= socio.getCuentas().size();
+        registrosEliminados++;
+        version++;
+        if (saldoTotalVigente) {
+            saldoTotal -= socio.calcularSaldoTotal();
+        }
+        return socio;
+    }
+
+    /**
+     * Copia al día del socio archivado, sin sacarlo del almacén; null si no existe
+     */
+    public Socio leer(String cedula) {
+        Registro registro = buscarRegistro(cedula);
+        return registro == null ? null : registro.socio();
+    }
+
+    public boolean contieneSocio(String cedula) {
+        return buscarRegistro(cedula) != null;
+    }
+
+    /**
+     * Cédula del socio archivado dueño de la cuenta, o null si no existe
+     */
+    public String cedulaDeCuenta(String numeroCuenta) {
+        if (numeroCuenta == null) {
+            return null;
+        }
+        String[] cedula = {null};
+        indiceCuentas.buscar(hash(numeroCuenta), indice -> {
+            if (cedula[0] == null && !eliminados.get(indice)) {
+                Socio socio = leerRegistro(indice);
+                if (socio.streamCuentas().anyMatch(c -> c.getNumeroCuenta().equals(numeroCuenta))) {
+                    cedula[0] = socio.getCedula();
+                }
+            }
+        });
+        return cedula[0];
+    }
+
+    /**
+     * Registra una nueva liquidación; los socios archivados la reciben al leerse
+     */
+    public void actualizarLiquidacion(int liquidacionAhorro, LocalDate fechaCausacionCreditos) {
+        if (liquidacionAhorro != this.liquidacionAhorro) {
+            saldoTotalVigente = false;
+            version++;
+        }
+        this.liquidacionAhorro = liquidacionAhorro;
+        this.fechaCausacionCreditos = fechaCausacionCreditos;
+    }
+
+    /**
+     * Suma de saldos de las cuentas de depósito archivadas. Se mantiene al archivar y retirar;
+     * está vacía después de una liquidación de intereses, hasta que se registre de nuevo.
+     */
+    public OptionalDouble saldoTotalVigente() {
+        return saldoTotalVigente ? OptionalDouble.of(saldoTotal) : OptionalDouble.empty();
+    }
+
+    /**
+     * Guarda la suma calculada con {@link Instantanea#saldoTotal()}, salvo que el
+     * almacén haya cambiado desde que se tomó la instantánea
+     */
+    public void registrarSaldoTotal(Instantanea instantanea, double saldoTotal) {
+        if (!saldoTotalVigente && instantanea.version == version) {
+            this.saldoTotal = saldoTotal;
+            saldoTotalVigente = true;
+        }
+    }
+
+    /**
+     * Reescribe los registros vivos en fragmentos nuevos, liberando el espacio de los eliminados
+     */
+    public void compactar() {
+        Instantanea anterior = instantanea();
+
+        fragmentos = new ArrayList<>();
+        desplazamientoFragmento = TAMANO_FRAGMENTO;
+        numeroBloques = 0;
+        longitudAbierta = 0;
+        registrosAbiertos = 0;
+        eliminados = new BitSet();
+        indiceCedulas = new TablaHash();
+        indiceCuentas = new TablaHash();
+        numeroSocios = 0;
+        numeroCuentas = 0;
+        bytesComprimidos = 0;
+        bytesSinComprimir = 0;
+        registrosEliminados = 0;
+        saldoTotal = 0;
+        saldoTotalVigente = true;
+
+        // Se copian los registros tal cual, sin aplicar las liquidaciones pendientes
+        IntStream.range(0, anterior.totalBloques())
+                .forEach(bloque -> anterior.recorrerBloque(bloque, false, this::archivar));
+        sellarBloque();
+    }
+
+    /**
+     * Copia de los metadatos que permite recorrer el almacén sin bloquearlo
+     */
+    public Instantanea instantanea() {
+        return new Instantanea(List.copyOf(fragmentos), numeroBloques,
+                Arrays.copyOf(bloqueFragmento, numeroBloques),
+                Arrays.copyOf(bloqueDesplazamiento, numeroBloques),
+                Arrays.copyOf(bloqueLongitud, numeroBloques),
+                Arrays.copyOf(bloqueLongitudOriginal, numeroBloques),
+                Arrays.copyOf(bloqueAbierto, longitudAbierta),
+                (BitSet) eliminados.clone(), liquidacionAhorro, fechaCausacionCreditos, version);
+    }
+
+    public Estadisticas getEstadisticas() {
+        long reservados = fragmentos.stream().mapToLong(ByteBuffer::capacity).sum()
+                + indiceCedulas.bytesReservados() + indiceCuentas.bytesReservados();
+        return new Estadisticas(numeroSocios, numeroCuentas, numeroBloques, bytesComprimidos,
+                bytesSinComprimir, reservados, registrosEliminados);
+    }
+
+    public int getNumeroSocios() {
+        return numeroSocios;
+    }
+
+    public long getNumeroCuentas() {
+        return numeroCuentas;
+    }
+
+    public long getRegistrosEliminados() {
+        return registrosEliminados;
+    }
+
+    /**
+     * Vista inmutable de los bloques del almacén en un momento dado
+     */
+    public static final class Instantanea {
+        private final List<ByteBuffer> fragmentos;
+        private final int numeroBloques;
+        private final int[] bloqueFragmento;
+        private final int[] bloqueDesplazamiento;
+        private final int[] bloqueLongitud;
+        private final int[] bloqueLongitudOriginal;
+        private final byte[] bloqueAbierto;
+        private final BitSet eliminados;
+        private final int liquidacionAhorro;
+        private final LocalDate fechaCausacionCreditos;
+        private final long version;
+
+        private Instantanea(List<ByteBuffer> fragmentos, int numeroBloques, int[] bloqueFragmento,
+                            int[] bloqueDesplazamiento, int[] bloqueLongitud, int[] bloqueLongitudOriginal,
+                            byte[] bloqueAbierto, BitSet eliminados, int liquidacionAhorro,
+                            LocalDate fechaCausacionCreditos, long version) {
+            this.fragmentos = fragmentos;
+            this.numeroBloques = numeroBloques;
+            this.bloqueFragmento = bloqueFragmento;
+            this.bloqueDesplazamiento = bloqueDesplazamiento;
+            this.bloqueLongitud = bloqueLongitud;
+            this.bloqueLongitudOriginal = bloqueLongitudOriginal;
+            this.bloqueAbierto = bloqueAbierto;
+            this.eliminados = eliminados;
+            this.liquidacionAhorro = liquidacionAhorro;
+            this.fechaCausacionCreditos = fechaCausacionCreditos;
+            this.version = version;
+        }
+
+        /**
+         * Copias al día de los socios archivados. Son objetos desechables: no
+         * están registrados en la cooperativa y no deben modificarse.
+         * El stream es secuencial; quien recorre todo el almacén puede pedir
+         * parallel(), porque cada bloque se descomprime por separado.
+         */
+        public Stream<Socio> streamSocios() {
+            return IntStream.range(0, totalBloques())
+                    .mapToObj(bloque -> {
+                        List<Socio> socios = new ArrayList<>();
+                        recorrerBloque(bloque, true, socios::add);
+                        return socios;
+                    })
+                    .flatMap(List::stream);
+        }
+
+        public Stream<Cuenta> streamCuentas() {
+            return streamSocios().flatMap(Socio::streamCuentas);
+        }
+
+        /**
+         * Suma de saldos de depósito; descomprime todos los bloques
+         */
+        public double saldoTotal() {
+            return streamCuentas()
+                    .parallel()
+                    .filter(Cuenta::esDeposito)
+                    .mapToDouble(Cuenta::getSaldo)
+                    .sum();
+        }
+
+        private int totalBloques() {
+            return bloqueAbierto.length == 0 ? numeroBloques : numeroBloques + 1;
+        }
+
+        private void recorrerBloque(int bloque, boolean alDia, Consumer<Socio> accion) {
+            byte[] datos = bloque < numeroBloques
+                    ? descomprimir(leerComprimido(bloque), bloqueLongitudOriginal[bloque])
+                    : bloqueAbierto;
+            int desplazamiento = 0;
+            int indice = bloque * REGISTROS_POR_BLOQUE;
+            while (desplazamiento < datos.length) {
+                int longitud = ByteBuffer.wrap(datos, desplazamiento, Integer.BYTES).getInt();
+                desplazamiento += Integer.BYTES;
+                if (!eliminados.get(indice)) {
+                    accion.accept(deserializar(datos, desplazamiento, longitud,
+                            alDia ? liquidacionAhorro : -1, alDia ? fechaCausacionCreditos : null));
+                }
+                desplazamiento += longitud;
+                indice++;
+            }
+        }
+
+        private byte[] leerComprimido(int bloque) {
+            byte[] comprimido = new byte[bloqueLongitud[bloque]];
+            fragmentos.get(bloqueFragmento[bloque]).get(bloqueDesplazamiento[bloque], comprimido);
+            return comprimido;
+        }
+    }
+
+    private record Registro(int indice, Socio socio) {}
+
+    /**
+     * Ubica el registro vivo de la cédula; la copia leída ya está al día
+     */
+    private Registro buscarRegistro(String cedula) {
+        if (cedula == null || numeroSocios == 0) {
+            return null;
+        }
+        Registro[] encontrado = {null};
+        indiceCedulas.buscar(hash(cedula), indice -> {
+            if (encontrado[0] == null && !eliminados.get(indice)) {
+                Socio socio = leerRegistro(indice);
+                if (socio.getCedula().equals(cedula)) {
+                    encontrado[0] = new Registro(indice, socio);
+                }
+            }
+        });
+        return encontrado[0];
+    }
+
+    private Socio leerRegistro(int indice) {
+        int bloque = indice / REGISTROS_POR_BLOQUE;
+        int ordinal = indice % REGISTROS_POR_BLOQUE;
+        byte[] datos;
+        int longitudDatos;
+        if (bloque < numeroBloques) {
+            byte[] comprimido = new byte[bloqueLongitud[bloque]];
+            fragmentos.get(bloqueFragmento[bloque]).get(bloqueDesplazamiento[bloque], comprimido);
+            datos = descomprimir(comprimido, bloqueLongitudOriginal[bloque]);
+            longitudDatos = datos.length;
+        } else {
+            datos = bloqueAbierto;
+            longitudDatos = longitudAbierta;
+        }
+
+        int desplazamiento = 0;
+        for (int i = 0; desplazamiento < longitudDatos; i++) {
+            int longitud = ByteBuffer.wrap(datos, desplazamiento, Integer.BYTES).getInt();
+            desplazamiento += Integer.BYTES;
+            if (i == ordinal) {
+                return deserializar(datos, desplazamiento, longitud, liquidacionAhorro, fechaCausacionCreditos);
+            }
+            desplazamiento += longitud;
+        }
+        throw new IllegalStateException("Registro inexistente en el almacén: " + indice);
+    }
+
+    private static byte[] serializar(Socio socio) {
+        var bytes = new ByteArrayOutputStream(128);
+        try (var salida = new DataOutputStream(bytes)) {
+            salida.writeUTF(socio.getCedula());
+            salida.writeUTF(socio.getNombre());
+            salida.writeLong(socio.getUltimaActividad());
+            salida.writeShort(socio.getCuentas().size());
+
+            for (Cuenta cuenta : socio.getCuentas()) {
+                if (cuenta instanceof CuentaAhorros ahorros) {
+                    salida.writeByte(TIPO_AHORROS);
+                    salida.writeUTF(ahorros.getNumeroCuenta());
+                    salida.writeDouble(ahorros.getSaldo());
+                    salida.writeDouble(ahorros.getTasaInteres());
+                    salida.writeInt(ahorros.getLiquidacionesAplicadas());
+                } else if (cuenta instanceof CuentaCredito credito) {
+                    salida.writeByte(TIPO_CREDITO);
+                    salida.writeUTF(credito.getNumeroCuenta());
+                    salida.writeDouble(credito.getSaldo());
+                    salida.writeDouble(credito.getMontoDesembolsado());
+                    salida.writeDouble(credito.getTasaInteresMensual());
+                    salida.writeShort(credito.getPlazoMeses());
+                    salida.writeLong(credito.getFechaDesembolso().toEpochDay());
+                    salida.writeDouble(credito.getInteresCausado());
+                    salida.writeDouble(credito.getComisionesPendientes());
+                    salida.writeDouble(credito.getTotalPagado());
+                    salida.writeLong(credito.getFechaUltimaCausacion().toEpochDay());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo serializar el socio " + socio.getCedula(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reconstruye el socio. Con liquidacionAhorro >= 0 aplica las liquidaciones
+     * de ahorro pendientes y causa los créditos hasta la fecha indicada.
+     */
+    private static Socio deserializar(byte[] datos, int desplazamiento, int longitud,
+                                      int liquidacionAhorro, LocalDate fechaCausacionCreditos) {
+        try (var entrada = new DataInputStream(new ByteArrayInputStream(datos, desplazamiento, longitud))) {
+            String cedula = entrada.readUTF();
+            String nombre = entrada.readUTF();
+            long ultimaActividad = entrada.readLong();
+            int cuentas = entrada.readShort();
+
+            var socio = new Socio(nombre, cedula);
+            for (int i = 0; i < cuentas; i++) {
+                byte tipo = entrada.readByte();
+                String numero = entrada.readUTF();
+                double saldo = entrada.readDouble();
+
+                if (tipo == TIPO_AHORROS) {
+                    var ahorros = new CuentaAhorros(numero, saldo, entrada.readDouble());
+                    ahorros.sincronizarLiquidaciones(entrada.readInt());
+                    if (liquidacionAhorro >= 0) {
+                        ahorros.aplicarInteresesHasta(liquidacionAhorro);
+                    }
+                    socio.agregarCuenta(ahorros);
+                } else if (tipo == TIPO_CREDITO) {
+                    double monto = entrada.readDouble();
+                    double tasa = entrada.readDouble();
+                    int plazo = entrada.readShort();
+                    LocalDate desembolso = LocalDate.ofEpochDay(entrada.readLong());
+                    var credito = new CuentaCredito(numero, monto, tasa, plazo, desembolso);
+                    credito.restaurarEstado(saldo, entrada.readDouble(), entrada.readDouble(),
+                            entrada.readDouble(), LocalDate.ofEpochDay(entrada.readLong()));
+                    if (fechaCausacionCreditos != null) {
+                        credito.causarIntereses(fechaCausacionCreditos);
+                    }
+                    socio.agregarCuenta(credito);
+                } else {
+                    throw new IllegalStateException("Tipo de cuenta desconocido en el almacén: " + tipo);
+                }
+            }
+
+            socio.registrarActividad(ultimaActividad);
+            return socio;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Registro dañado en el almacén de socios inactivos", e);
+        }
+    }
+
+    private static byte[] comprimir(byte[] datos, int longitud) {
+        Deflater compresor = new Deflater(Deflater.BEST_SPEED);
+        try {
+            compresor.setInput(datos, 0, longitud);
+            compresor.finish();
+            var salida = new ByteArrayOutputStream(Math.max(64, longitud / 4));
+            byte[] buffer = new byte[8 * 1024];
+            while (!compresor.finished()) {
+                int escritos = compresor.deflate(buffer);
+                salida.write(buffer, 0, escritos);
+            }
+            return salida.toByteArray();
+        } finally {
+            compresor.end();
+        }
+    }
+
+    private static byte[] descomprimir(byte[] comprimido, int longitudOriginal) {
+        Inflater descompresor = new Inflater();
+        try {
+            descompresor.setInput(comprimido);
+            byte[] datos = new byte[longitudOriginal];
+            int leidos = 0;
+            while (leidos < longitudOriginal && !descompresor.finished()) {
+                leidos += descompresor.inflate(datos, leidos, longitudOriginal - leidos);
+            }
+            return datos;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Bloque dañado en el almacén de socios inactivos", e);
+        } finally {
+            descompresor.end();
+        }
+    }
+
+    private ByteBuffer reservarEspacio(int longitud) {
+        if (desplazamientoFragmento + longitud > TAMANO_FRAGMENTO || fragmentos.isEmpty()) {
+            fragmentos.add(ByteBuffer.allocateDirect(Math.max(TAMANO_FRAGMENTO, longitud)));
+            desplazamientoFragmento = 0;
+        }
+        return fragmentos.get(fragmentos.size() - 1);
+    }
+
+    private void asegurarCapacidadAbierta(int adicional) {
+        if (longitudAbierta + adicional > bloqueAbierto.length) {
+            bloqueAbierto = Arrays.copyOf(bloqueAbierto, Math.max(bloqueAbierto.length * 2, longitudAbierta + adicional));
+        }
+    }
+
+    /**
+     * FNV-1a con mezcla final, reducido a 32 bits; las colisiones se resuelven leyendo el registro
+     */
+    private static int hash(String texto) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < texto.length(); i++) {
+            h ^= texto.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Tabla hash de direccionamiento abierto de clave int a índice de registro,
+     * guardada fuera del heap como pares clave/valor.
+     * Admite claves repetidas, que se devuelven todas al buscar.
+     */
+    private static final class TablaHash {
+        private static final int VACIO = -1;
+        private static final int BORRADO = -2;
+
+        private IntBuffer entradas = entradasVacias(1024);
+        private int capacidad = 1024;
+        private int ocupados;
+
+        void agregar(int clave, int valor) {
+            if ((ocupados + 1) * 10L > capacidad * 6L) {
+                redimensionar();
+            }
+            int mascara = capacidad - 1;
+            int i = clave & mascara;
+            while (entradas.get(2 * i + 1) >= 0) {
+                i = (i + 1) & mascara;
+            }
+            if (entradas.get(2 * i + 1) == VACIO) {
+                ocupados++;
+            }
+            entradas.put(2 * i, clave);
+            entradas.put(2 * i + 1, valor);
+        }
+
+        void quitar(int clave, int valor) {
+            int mascara = capacidad - 1;
+            for (int i = clave & mascara; entradas.get(2 * i + 1) != VACIO; i = (i + 1) & mascara) {
+                if (entradas.get(2 * i + 1) == valor && entradas.get(2 * i) == clave) {
+                    entradas.put(2 * i + 1, BORRADO);
+                    return;
+                }
+            }
+        }
+
+        void buscar(int clave, IntConsumer accion) {
+            int mascara = capacidad - 1;
+            for (int i = clave & mascara; entradas.get(2 * i + 1) != VACIO; i = (i + 1) & mascara) {
+                int valor = entradas.get(2 * i + 1);
+                if (valor >= 0 && entradas.get(2 * i) == clave) {
+                    accion.accept(valor);
+                }
+            }
+        }
+
+        long bytesReservados() {
+            return 2L * Integer.BYTES * capacidad;
+        }
+
+        private void redimensionar() {
+            IntBuffer anteriores = entradas;
+            int capacidadAnterior = capacidad;
+            int vivos = 0;
+            for (int i = 0; i < capacidadAnterior; i++) {
+                if (anteriores.get(2 * i + 1) >= 0) {
+                    vivos++;
+                }
+            }
+            while ((vivos + 1) * 10L > capacidad * 5L) {
+                capacidad *= 2;
+            }
+
+            entradas = entradasVacias(capacidad);
+            ocupados = 0;
+            for (int i = 0; i < capacidadAnterior; i++) {
+                if (anteriores.get(2 * i + 1) >= 0) {
+                    agregar(anteriores.get(2 * i), anteriores.get(2 * i + 1));
+                }
+            }
+        }
+
+        private static IntBuffer entradasVacias(int capacidad) {
+            IntBuffer entradas = ByteBuffer.allocateDirect(2 * Integer.BYTES * capacidad)
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+            for (int i = 0; i < capacidad; i++) {
+                entradas.put(2 * i + 1, VACIO);
+            }
+            return entradas;
+        }
+    }
+}
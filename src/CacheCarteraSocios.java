@@ -0,0 +1,210 @@
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché acotada de vistas de cartera por socio.
+ * Se divide en segmentos LRU independientes para reducir la contención; los
+ * cambios de saldo actualizan la vista en su lugar y los cambios de cuentas
+ * la invalidan.
+ */
+public final class CacheCarteraSocios implements ObservadorSaldo {
+    private static final int SEGMENTOS = 16;
+
+    /**
+     * Resumen inmutable de las cuentas de un socio. Los depósitos y el capital
+     * de los créditos se llevan por separado, porque el crédito es deuda.
+     */
+    public record VistaCartera(String cedula, String nombre, double saldoTotal, double capitalCreditos,
+                               int numeroCuentas, Map<String, Double> saldosPorCuenta,
+                               Map<String, Double> capitalPorCredito) {
+
+        private boolean contiene(Cuenta cuenta) {
+            return (cuenta.esDeposito() ? saldosPorCuenta : capitalPorCredito).containsKey(cuenta.getNumeroCuenta());
+        }
+
+        private VistaCartera conSaldo(Cuenta cuenta, double saldoNuevo) {
+            if (cuenta.esDeposito()) {
+                Map<String, Double> saldos = new LinkedHashMap<>(saldosPorCuenta);
+                saldos.put(cuenta.getNumeroCuenta(), saldoNuevo);
+                return new VistaCartera(cedula, nombre, sumar(saldos), capitalCreditos, numeroCuentas,
+                        Collections.unmodifiableMap(saldos), capitalPorCredito);
+            }
+            Map<String, Double> capital = new LinkedHashMap<>(capitalPorCredito);
+            capital.put(cuenta.getNumeroCuenta(), saldoNuevo);
+            return new VistaCartera(cedula, nombre, saldoTotal, sumar(capital), numeroCuentas,
+                    saldosPorCuenta, Collections.unmodifiableMap(capital));
+        }
+    }
+
+    public record Estadisticas(long aciertos, long fallos, long desalojos, long actualizaciones,
+                               long invalidaciones, long tamano, int capacidad) {
+
+        public double tasaAciertos() {
+            long consultas = aciertos + fallos;
+            return consultas == 0 ? 0.0 : (double) aciertos / consultas;
+        }
+    }
+
+    private final int capacidad;
+    private final Segmento[] segmentos;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+    private final LongAdder actualizaciones = new LongAdder();
+    private final LongAdder invalidaciones = new LongAdder();
+
+    public CacheCarteraSocios(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser mayor a 0");
+        }
+
+        // El residuo se reparte entre los primeros segmentos para que la suma sea exacta
+        int numeroSegmentos = Math.min(SEGMENTOS, capacidad);
+        this.capacidad = capacidad;
+        this.segmentos = new Segmento[numeroSegmentos];
+        for (int i = 0; i < numeroSegmentos; i++) {
+            int capacidadSegmento = capacidad / numeroSegmentos + (i < capacidad % numeroSegmentos ? 1 : 0);
+            segmentos[i] = new Segmento(capacidadSegmento);
+        }
+    }
+
+    /**
+     * Devuelve la vista del socio, construyéndola si no está en caché.
+     * La vista sólo se guarda si ningún saldo cambió mientras se construía.
+     */
+    public VistaCartera obtener(Socio socio) {
+        Objects.requireNonNull(socio, "El socio no puede ser nulo");
+        String cedula = socio.getCedula();
+        Segmento segmento = segmento(cedula);
+
+        VistaCartera vista = segmento.obtener(cedula);
+        if (vista != null) {
+            aciertos.increment();
+            return vista;
+        }
+
+        fallos.increment();
+        long version = socio.getVersionSaldos();
+        VistaCartera nueva = construir(socio);
+        segmento.guardar(cedula, nueva);
+
+        // Un cambio posterior a la construcción pudo no alcanzar a actualizar la vista
+        if (socio.getVersionSaldos() != version) {
+            segmento.quitar(cedula, nueva);
+        }
+        return nueva;
+    }
+
+    private static VistaCartera construir(Socio socio) {
+        Map<String, Double> saldos = new LinkedHashMap<>();
+        Map<String, Double> capital = new LinkedHashMap<>();
+        socio.streamCuentas().forEach(cuenta ->
+                (cuenta.esDeposito() ? saldos : capital).put(cuenta.getNumeroCuenta(), cuenta.getSaldo()));
+        return new VistaCartera(socio.getCedula(), socio.getNombre(), sumar(saldos), sumar(capital),
+                saldos.size() + capital.size(), Collections.unmodifiableMap(saldos),
+                Collections.unmodifiableMap(capital));
+    }
+
+    private static double sumar(Map<String, Double> saldos) {
+        return saldos.values().stream()
+                .mapToDouble(Double::doubleValue)
+                .sum();
+    }
+
+    @Override
+    public void saldoCambiado(Socio socio, Cuenta cuenta, double saldoAnterior, double saldoNuevo) {
+        String cedula = socio.getCedula();
+        Segmento segmento = segmento(cedula);
+
+        synchronized (segmento) {
+            VistaCartera vista = segmento.vistas.get(cedula);
+            if (vista == null) {
+                return;
+            }
+            if (vista.contiene(cuenta)) {
+                segmento.vistas.put(cedula, vista.conSaldo(cuenta, saldoNuevo));
+                actualizaciones.increment();
+            } else {
+                segmento.vistas.remove(cedula);
+                invalidaciones.increment();
+            }
+        }
+    }
+
+    @Override
+    public void cuentasCambiadas(Socio socio) {
+        invalidar(socio.getCedula());
+    }
+
+    public void invalidar(String cedula) {
+        Segmento segmento = segmento(cedula);
+        synchronized (segmento) {
+            if (segmento.vistas.remove(cedula) != null) {
+                invalidaciones.increment();
+            }
+        }
+    }
+
+    public void limpiar() {
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                segmento.vistas.clear();
+            }
+        }
+    }
+
+    public Estadisticas getEstadisticas() {
+        long tamano = 0;
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                tamano += segmento.vistas.size();
+            }
+        }
+        return new Estadisticas(aciertos.sum(), fallos.sum(), desalojos.sum(), actualizaciones.sum(),
+                invalidaciones.sum(), tamano, capacidad);
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    private Segmento segmento(String cedula) {
+        int hash = cedula.hashCode();
+        return segmentos[Math.floorMod(hash ^ (hash >>> 16), segmentos.length)];
+    }
+
+    /**
+     * Segmento LRU; todo acceso se sincroniza sobre el propio segmento
+     */
+    private final class Segmento {
+        private final LinkedHashMap<String, VistaCartera> vistas;
+
+        Segmento(int capacidadSegmento) {
+            this.vistas = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VistaCartera> mayor) {
+                    if (size() > capacidadSegmento) {
+                        desalojos.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized VistaCartera obtener(String cedula) {
+            return vistas.get(cedula);
+        }
+
+        synchronized void guardar(String cedula, VistaCartera vista) {
+            vistas.putIfAbsent(cedula, vista);
+        }
+
+        synchronized void quitar(String cedula, VistaCartera vista) {
+            vistas.remove(cedula, vista);
+        }
+    }
+}
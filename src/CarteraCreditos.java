@@ -0,0 +1,157 @@
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Motor de evaluación de la cartera de créditos.
+ * Recorre los créditos en paralelo y acumula los indicadores en un único
+ * resumen, sin construir las tablas de amortización de cada crédito.
+ */
+public final class CarteraCreditos {
+
+    /**
+     * Rangos de mora usados para clasificar la cartera
+     */
+    public enum RangoMora {
+        AL_DIA(0, 0),
+        MORA_1_30(1, 30),
+        MORA_31_60(31, 60),
+        MORA_61_90(61, 90),
+        MORA_MAS_90(91, Long.MAX_VALUE);
+
+        private final long diasDesde;
+        private final long diasHasta;
+
+        RangoMora(long diasDesde, long diasHasta) {
+            this.diasDesde = diasDesde;
+            this.diasHasta = diasHasta;
+        }
+
+        public static RangoMora clasificar(long diasMora) {
+            for (RangoMora rango : values()) {
+                if (diasMora >= rango.diasDesde && diasMora <= rango.diasHasta) {
+                    return rango;
+                }
+            }
+            return AL_DIA;
+        }
+    }
+
+    public record Resumen(LocalDate fechaCorte,
+                          long numeroCreditos,
+                          double capitalPendiente,
+                          double interesCausado,
+                          double interesPorCausar,
+                          double recaudoEsperado,
+                          long creditosEnMora,
+                          double capitalEnMora,
+                          Map<RangoMora, Long> creditosPorRango,
+                          Map<RangoMora, Double> capitalPorRango) {
+
+        /**
+         * Proporción del capital pendiente que está en mora
+         */
+        public double indiceMora() {
+            return capitalPendiente == 0 ? 0.0 : capitalEnMora / capitalPendiente;
+        }
+    }
+
+    private CarteraCreditos() {
+    }
+
+    /**
+     * Evalúa todos los créditos de la colección a la fecha de corte.
+     * Las cuentas que no son créditos se ignoran.
+     */
+    public static Resumen evaluar(Collection<? extends Cuenta> cuentas, LocalDate fechaCorte) {
+        Objects.requireNonNull(cuentas, "La colección de cuentas no puede ser nula");
+        return evaluar(cuentas.parallelStream(), fechaCorte);
+    }
+
+    /**
+     * Igual que {@link #evaluar(Collection, LocalDate)} pero sobre un stream,
+     * para combinar cuentas de varias fuentes sin copiarlas a una colección
+     */
+    public static Resumen evaluar(Stream<? extends Cuenta> cuentas, LocalDate fechaCorte) {
+        Objects.requireNonNull(cuentas, "El stream de cuentas no puede ser nulo");
+        Objects.requireNonNull(fechaCorte, "La fecha de corte no puede ser nula");
+
+        return cuentas.parallel()
+                .filter(CuentaCredito.class::isInstance)
+                .map(CuentaCredito.class::cast)
+                .collect(Collector.of(
+                        Acumulador::new,
+                        (acumulador, credito) -> acumulador.agregar(credito, fechaCorte),
+                        Acumulador::combinar,
+                        acumulador -> acumulador.resumen(fechaCorte),
+                        Collector.Characteristics.UNORDERED));
+    }
+
+    /**
+     * Acumulador mutable por hilo; los parciales se combinan al final
+     */
+    private static final class Acumulador {
+        private final long[] creditosPorRango = new long[RangoMora.values().length];
+        private final double[] capitalPorRango = new double[RangoMora.values().length];
+        private long numeroCreditos;
+        private double capitalPendiente;
+        private double interesCausado;
+        private double interesPorCausar;
+        private double recaudoEsperado;
+
+        void agregar(CuentaCredito credito, LocalDate fechaCorte) {
+            if (credito.estaCancelado()) {
+                return;
+            }
+
+            double saldo = credito.getSaldo();
+            RangoMora rango = RangoMora.clasificar(credito.diasMora(fechaCorte));
+
+            numeroCreditos++;
+            capitalPendiente += saldo;
+            interesCausado += credito.getInteresCausado();
+            interesPorCausar += credito.interesPorCausar();
+            recaudoEsperado += credito.valorProximaCuota();
+            creditosPorRango[rango.ordinal()]++;
+            capitalPorRango[rango.ordinal()] += saldo;
+        }
+
+        Acumulador combinar(Acumulador otro) {
+            numeroCreditos += otro.numeroCreditos;
+            capitalPendiente += otro.capitalPendiente;
+            interesCausado += otro.interesCausado;
+            interesPorCausar += otro.interesPorCausar;
+            recaudoEsperado += otro.recaudoEsperado;
+            for (int i = 0; i < creditosPorRango.length; i++) {
+                creditosPorRango[i] += otro.creditosPorRango[i];
+                capitalPorRango[i] += otro.capitalPorRango[i];
+            }
+            return this;
+        }
+
+        Resumen resumen(LocalDate fechaCorte) {
+            Map<RangoMora, Long> creditos = new EnumMap<>(RangoMora.class);
+            Map<RangoMora, Double> capital = new EnumMap<>(RangoMora.class);
+            long creditosEnMora = 0;
+            double capitalEnMora = 0.0;
+
+            for (RangoMora rango : RangoMora.values()) {
+                creditos.put(rango, creditosPorRango[rango.ordinal()]);
+                capital.put(rango, capitalPorRango[rango.ordinal()]);
+                if (rango != RangoMora.AL_DIA) {
+                    creditosEnMora += creditosPorRango[rango.ordinal()];
+                    capitalEnMora += capitalPorRango[rango.ordinal()];
+                }
+            }
+
+            return new Resumen(fechaCorte, numeroCreditos, capitalPendiente, interesCausado,
+                    interesPorCausar, recaudoEsperado, creditosEnMora, capitalEnMora,
+                    Collections.unmodifiableMap(creditos), Collections.unmodifiableMap(capital));
+        }
+    }
+}
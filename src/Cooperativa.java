@@ -1,6 +1,12 @@
-import java.util;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -12,6 +18,7 @@ import java.util.stream.Stream;
  
 public final class Cooperativa {
     private static final Logger LOGGER = Logger.getLogger(Cooperativa.class.getName());
+    private static final int CAPACIDAD_CACHE_POR_DEFECTO = 10_000;
 
     private final String nombre;
     private final String nit;
@@ -19,8 +26,26 @@ public final class Cooperativa {
     private final List<Cuenta> cuentas;
     private final Map<String, Socio> indiceCedulas;
     private final Map<String, Cuenta> indiceNumeroCuentas;
+    private final CacheCarteraSocios cacheCartera;
+    private final ObservadorSaldo observadorSocios;
+
+    // Nivel de socios inactivos; todo su estado se protege con bloqueoNiveles.
+    // Nunca se bloquea una cuenta compartida mientras se tiene bloqueoNiveles:
+    // el orden es siempre cuenta -> niveles.
+    private final Object bloqueoNiveles = new Object();
+    private final AlmacenSociosInactivos almacenInactivos;
+    private final Map<String, ReferenciaSocio> sociosMaterializados;
+    private final ReferenceQueue<Socio> referenciasLiberadas;
+    private final Set<Socio> pendientesRetiro;
+    private volatile int liquidacionesAhorro;
+    private volatile LocalDate fechaCausacionCreditos;
+    private long reactivaciones;
 
     public Cooperativa(String nombre, String nit) {
+        this(nombre, nit, CAPACIDAD_CACHE_POR_DEFECTO);
+    }
+
+    public Cooperativa(String nombre, String nit, int capacidadCacheCartera) {
         this.nombre = Objects.requireNonNull(nombre, "El nombre no puede ser nulo");
         this.nit = Objects.requireNonNull(nit, "El NIT no puede ser nulo");
 
@@ -28,33 +53,59 @@ public final class Cooperativa {
         this.cuentas = new CopyOnWriteArrayList<>();
         this.indiceCedulas = new ConcurrentHashMap<>();
         this.indiceNumeroCuentas = new ConcurrentHashMap<>();
+        this.cacheCartera = new CacheCarteraSocios(capacidadCacheCartera);
+        this.observadorSocios = ObservadorSaldo.combinar(cacheCartera, new ObservadorNiveles());
+        this.almacenInactivos = new AlmacenSociosInactivos();
+        this.sociosMaterializados = new HashMap<>();
+        this.referenciasLiberadas = new ReferenceQueue<>();
+        this.pendientesRetiro = Collections.newSetFromMap(new IdentityHashMap<>());
 
         LOGGER.log(Level.INFO, "Cooperativa creada: {0} (NIT: {1})", new Object[]{nombre, nit});
     }
 
     public void listarSociosRegistrados() {
         System.out.println("\n=== SOCIOS REGISTRADOS (Programación Funcional) ===");
-        socios.stream()
-                .map(Socio::getNombre)
+        streamNombresSocios()
                 .sorted()
                 .forEach(nombre -> System.out.println("• " + nombre));
     }
 
     public Stream<String> streamNombresSocios() {
-        return socios.stream()
+        return streamTodosLosSocios()
                 .map(Socio::getNombre);
     }
 
+    /**
+     * Cuentas de depósito con saldo mayor al indicado; los créditos no se incluyen.
+     * Incluye las cuentas de socios archivados; se devuelven las mismas instancias
+     * que luego entregaría buscarCuenta, y al modificarlas el socio se reactiva.
+     */
     public List<Cuenta> filtrarCuentasPorSaldoMinimo(double saldoMinimo) {
-        return cuentas.stream()
-                .filter(cuenta -> cuenta.getSaldo() > saldoMinimo)
+        Predicate<Cuenta> superaSaldo = cuenta -> cuenta.esDeposito() && cuenta.getSaldo() > saldoMinimo;
+
+        Stream<Cuenta> activas;
+        AlmacenSociosInactivos.Instantanea inactivos;
+        synchronized (bloqueoNiveles) {
+            activas = cuentasActivasAlCorte();
+            inactivos = almacenInactivos.instantanea();
+        }
+
+        List<String> cedulasInactivas = inactivos.streamSocios()
+                .parallel()
+                .filter(socio -> socio.streamCuentas().anyMatch(superaSaldo))
+                .map(Socio::getCedula)
+                .toList();
+
+        return Stream.concat(activas, materializar(cedulasInactivas).stream().flatMap(Socio::streamCuentas))
+                .filter(superaSaldo)
                 .sorted(Comparator.comparingDouble(Cuenta::getSaldo).reversed())
                 .collect(Collectors.toUnmodifiableList());
     }
 
     public void mostrarCuentasConSaldoMayor(double saldoMinimo) {
         System.out.printf("\n=== CUENTAS CON SALDO > $%.2f ===\n", saldoMinimo);
-        cuentas.stream()
+        streamTodasLasCuentas()
+                .filter(Cuenta::esDeposito)
                 .filter(cuenta -> cuenta.getSaldo() > saldoMinimo)
                 .sorted(Comparator.comparingDouble(Cuenta::getSaldo).reversed())
                 .forEach(cuenta -> System.out.printf("• %s: $%.2f - Propietario: %s\n",
@@ -63,26 +114,53 @@ public final class Cooperativa {
                         obtenerPropietarioCuenta(cuenta)));
     }
 
+    /**
+     * Suma de los saldos depositados; el capital de los créditos se reporta en la cartera
+     */
     public double obtenerSumaTotalSaldos() {
-        return cuentas.stream()
+        Stream<Cuenta> activas;
+        OptionalDouble vigente;
+        AlmacenSociosInactivos.Instantanea inactivos = null;
+        synchronized (bloqueoNiveles) {
+            activas = cuentasActivasAlCorte();
+            vigente = almacenInactivos.saldoTotalVigente();
+            if (vigente.isEmpty()) {
+                inactivos = almacenInactivos.instantanea();
+            }
+        }
+
+        // Después de una liquidación se recorre el almacén sin retener el bloqueo de niveles
+        double saldoInactivos;
+        if (vigente.isPresent()) {
+            saldoInactivos = vigente.getAsDouble();
+        } else {
+            saldoInactivos = inactivos.saldoTotal();
+            synchronized (bloqueoNiveles) {
+                almacenInactivos.registrarSaldoTotal(inactivos, saldoInactivos);
+            }
+        }
+
+        return activas
+                .filter(Cuenta::esDeposito)
                 .mapToDouble(Cuenta::getSaldo)
-                .sum();
+                .sum() + saldoInactivos;
     }
 
     public void mostrarCalculosTotales() {
         System.out.println("\n=== CÁLCULOS TOTALES (Programación Funcional) ===");
         double totalSaldos = obtenerSumaTotalSaldos();
-        System.out.printf("Total saldos: $%.2f%n", totalSaldos);
+        System.out.printf("Total saldos en depósitos: $%.2f%n", totalSaldos);
     }
 
     public void registrarSocio(Socio socio) {
         Objects.requireNonNull(socio, "El socio no puede ser nulo");
         String cedula = socio.getCedula();
 
-        if (indiceCedulas.containsKey(cedula)) {
+        if (indiceCedulas.containsKey(cedula) || estaArchivado(cedula)) {
             throw new IllegalArgumentException("Ya existe un socio registrado con la cédula: " + cedula);
         }
 
+        socio.setObservadorSaldo(observadorSocios);
         socios.add(socio);
         indiceCedulas.put(cedula, socio);
         LOGGER.log(Level.INFO, "Socio registrado: {0} (Cédula: {1})", new Object[]{socio.getNombre(), cedula});
@@ -92,46 +170,288 @@ public final class Cooperativa {
         Objects.requireNonNull(cuenta, "La cuenta no puede ser nula");
         String numeroCuenta = cuenta.getNumeroCuenta();
 
-        if (indiceNumeroCuentas.containsKey(numeroCuenta)) {
+        if (indiceNumeroCuentas.containsKey(numeroCuenta) || estaArchivada(numeroCuenta)) {
             throw new IllegalArgumentException("Ya existe una cuenta con el número: " + numeroCuenta);
         }
 
+        sincronizarLiquidaciones(cuenta);
         cuentas.add(cuenta);
         indiceNumeroCuentas.put(numeroCuenta, cuenta);
         LOGGER.log(Level.INFO, "Cuenta agregada: {0}", numeroCuenta);
     }
 
+    /**
+     * Registra un lote de socios con una sola copia de la lista interna.
+     * Si alguna cédula ya existe no se registra ningún socio del lote.
+     */
+    public void registrarSocios(Collection<Socio> lote) {
+        Objects.requireNonNull(lote, "El lote de socios no puede ser nulo");
+        List<Socio> registrados = new ArrayList<>(lote.size());
+
+        synchronized (bloqueoNiveles) {
+            for (Socio socio : lote) {
+                Objects.requireNonNull(socio, "El socio no puede ser nulo");
+                if (almacenInactivos.contieneSocio(socio.getCedula())) {
+                    throw new IllegalArgumentException("Ya existe un socio registrado con la cédula: " + socio.getCedula());
+                }
+            }
+        }
+
+        for (Socio socio : lote) {
+            Objects.requireNonNull(socio, "El socio no puede ser nulo");
+            if (indiceCedulas.putIfAbsent(socio.getCedula(), socio) != null) {
+                registrados.forEach(s -> indiceCedulas.remove(s.getCedula()));
+                throw new IllegalArgumentException("Ya existe un socio registrado con la cédula: " + socio.getCedula());
+            }
+            registrados.add(socio);
+        }
+
+        registrados.forEach(socio -> socio.setObservadorSaldo(observadorSocios));
+
+        socios.addAll(registrados);
+        LOGGER.log(Level.INFO, "Lote de socios registrado: {0}", registrados.size());
+    }
+
+    /**
+     * Agrega un lote de cuentas con una sola copia de la lista interna.
+     * Si algún número de cuenta ya existe no se agrega ninguna cuenta del lote.
+     */
+    public void agregarCuentas(Collection<? extends Cuenta> lote) {
+        Objects.requireNonNull(lote, "El lote de cuentas no puede ser nulo");
+        List<Cuenta> agregadas = new ArrayList<>(lote.size());
+
+        synchronized (bloqueoNiveles) {
+            for (Cuenta cuenta : lote) {
+                Objects.requireNonNull(cuenta, "La cuenta no puede ser nula");
+                if (almacenInactivos.cedulaDeCuenta(cuenta.getNumeroCuenta()) != null) {
+                    throw new IllegalArgumentException("Ya existe una cuenta con el número: " + cuenta.getNumeroCuenta());
+                }
+            }
+        }
+
+        for (Cuenta cuenta : lote) {
+            Objects.requireNonNull(cuenta, "La cuenta no puede ser nula");
+            if (indiceNumeroCuentas.putIfAbsent(cuenta.getNumeroCuenta(), cuenta) != null) {
+                agregadas.forEach(c -> indiceNumeroCuentas.remove(c.getNumeroCuenta()));
+                throw new IllegalArgumentException("Ya existe una cuenta con el número: " + cuenta.getNumeroCuenta());
+            }
+            agregadas.add(cuenta);
+        }
+
+        agregadas.forEach(this::sincronizarLiquidaciones);
+        cuentas.addAll(agregadas);
+        LOGGER.log(Level.INFO, "Lote de cuentas agregado: {0}", agregadas.size());
+    }
+
+    /**
+     * Cada liquidación se numera; las cuentas de socios archivados la reciben
+     * cuando se leen del almacén, así que no hace falta reescribirlo. A diferencia
+     * de CuentaAhorros.aplicarIntereses, mantiene coherentes ambos niveles.
+     */
     public void aplicarInteresesCuentasAhorro() {
         System.out.println("\n=== APLICANDO INTERESES ===");
-        long cuentasAfectadas = cuentas.stream()
+        int liquidacion = abrirLiquidacionAhorro();
+        int sociosInactivos;
+        synchronized (bloqueoNiveles) {
+            sociosInactivos = almacenInactivos.getNumeroSocios();
+        }
+
+        long cuentasAfectadas = streamCuentasActivas()
                 .filter(CuentaAhorros.class::isInstance)
                 .map(CuentaAhorros.class::cast)
-                .peek(cuenta -> {
+                .filter(cuenta -> {
                     double saldoAnterior = cuenta.getSaldo();
-                    cuenta.aplicarIntereses();
+                    if (cuenta.aplicarInteresesHasta(liquidacion) == 0) {
+                        return false;
+                    }
                     System.out.printf("Cuenta %s: $%.2f → $%.2f (Interés: %.2f%%)%n",
                             cuenta.getNumeroCuenta(),
                             saldoAnterior,
                             cuenta.getSaldo(),
                             cuenta.getTasaInteres() * 100);
+                    return true;
                 })
                 .count();
+
         System.out.printf("Intereses aplicados a %d cuenta(s) de ahorro.%n", cuentasAfectadas);
+        if (sociosInactivos > 0) {
+            System.out.printf("Liquidación #%d pendiente para %d socio(s) archivado(s); se aplica al reactivarlos.%n",
+                    liquidacion, sociosInactivos);
+        }
     }
 
+    /**
+     * Numera una nueva liquidación de ahorros sin recorrer el nivel activo: sus
+     * cuentas la reciben con aplicarInteresesCuentasAhorro o liquidarInteresesLote,
+     * y las archivadas al leerse del almacén. Devuelve el número de la liquidación.
+     */
+    public int abrirLiquidacionAhorro() {
+        int liquidacion;
+        List<Socio> materializados;
+        synchronized (bloqueoNiveles) {
+            liquidacion = ++liquidacionesAhorro;
+            almacenInactivos.actualizarLiquidacion(liquidacion, fechaCausacionCreditos);
+            materializados = sociosMaterializados();
+        }
+
+        // Instancias vivas de socios archivados: quedan al día sin salir del almacén
+        materializados.stream()
+                .flatMap(Socio::streamCuentas)
+                .filter(CuentaAhorros.class::isInstance)
+                .map(CuentaAhorros.class::cast)
+                .forEach(cuenta -> cuenta.aplicarInteresesHastaSinAviso(liquidacion));
+        return liquidacion;
+    }
+
+    /**
+     * Liquida un tramo de las cuentas del nivel activo, como el proceso nocturno
+     * que avanza por lotes: las de ahorro reciben las liquidaciones abiertas y los
+     * créditos causan intereses hasta la fecha. No escribe en consola.
+     * Devuelve cuántas cuentas del tramo se liquidaron.
+     */
+    public int liquidarInteresesLote(int desde, int cantidad, LocalDate fecha) {
+        Objects.requireNonNull(fecha, "La fecha de causación no puede ser nula");
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("El tramo de cuentas no puede ser negativo");
+        }
+        int liquidacion;
+        synchronized (bloqueoNiveles) {
+            liquidacion = liquidacionesAhorro;
+        }
+        registrarFechaCausacion(fecha).stream()
+                .flatMap(Socio::streamCuentas)
+                .filter(CuentaCredito.class::isInstance)
+                .forEach(credito -> ((CuentaCredito) credito).causarIntereses(fecha));
+
+        List<Cuenta> tramo = cuentas.stream()
+                .skip(desde)
+                .limit(cantidad)
+                .filter(cuenta -> !estaArchivada(cuenta))
+                .toList();
+        for (Cuenta cuenta : tramo) {
+            if (cuenta instanceof CuentaAhorros ahorros) {
+                ahorros.aplicarInteresesHasta(liquidacion);
+            } else if (cuenta instanceof CuentaCredito credito) {
+                credito.causarIntereses(fecha);
+            }
+        }
+        return tramo.size();
+    }
+
+    public void causarInteresesCreditos(LocalDate fecha) {
+        Objects.requireNonNull(fecha, "La fecha de causación no puede ser nula");
+        List<Socio> materializados = registrarFechaCausacion(fecha);
+
+        double totalCausado = Stream.concat(streamCuentasActivas(),
+                        materializados.stream().flatMap(Socio::streamCuentas))
+                .parallel()
+                .filter(CuentaCredito.class::isInstance)
+                .map(CuentaCredito.class::cast)
+                .mapToDouble(credito -> credito.causarIntereses(fecha))
+                .sum();
+        LOGGER.log(Level.INFO, "Intereses de créditos causados a {0}: {1}",
+                new Object[]{fecha, String.format("%.2f", totalCausado)});
+    }
+
+    /**
+     * Registra la fecha de causación para el almacén y devuelve las instancias
+     * vivas de socios archivados, cuyos créditos debe causar el llamador
+     */
+    private List<Socio> registrarFechaCausacion(LocalDate fecha) {
+        synchronized (bloqueoNiveles) {
+            if (fechaCausacionCreditos == null || fecha.isAfter(fechaCausacionCreditos)) {
+                fechaCausacionCreditos = fecha;
+                almacenInactivos.actualizarLiquidacion(liquidacionesAhorro, fecha);
+            }
+            return sociosMaterializados();
+        }
+    }
+
+    public CarteraCreditos.Resumen evaluarCartera(LocalDate fechaCorte) {
+        return CarteraCreditos.evaluar(streamTodasLasCuentas(), fechaCorte);
+    }
+
+    public void mostrarResumenCartera(LocalDate fechaCorte) {
+        CarteraCreditos.Resumen resumen = evaluarCartera(fechaCorte);
+
+        System.out.printf("""
+                        
+                        === CARTERA DE CRÉDITOS AL %s ===
+                        • Créditos vigentes: %d
+                        • Capital pendiente: $%.2f
+                        • Intereses causados: $%.2f
+                        • Intereses por causar: $%.2f
+                        • Recaudo esperado próxima cuota: $%.2f
+                        • Créditos en mora: %d ($%.2f, índice %.2f%%)
+                        """,
+                fechaCorte,
+                resumen.numeroCreditos(),
+                resumen.capitalPendiente(),
+                resumen.interesCausado(),
+                resumen.interesPorCausar(),
+                resumen.recaudoEsperado(),
+                resumen.creditosEnMora(),
+                resumen.capitalEnMora(),
+                resumen.indiceMora() * 100);
+
+        resumen.creditosPorRango().forEach((rango, cantidad) ->
+                System.out.printf("  - %s: %d crédito(s), $%.2f%n",
+                        rango, cantidad, resumen.capitalPorRango().get(rango)));
+    }
+
+    /**
+     * Busca el socio; si está archivado lo devuelve al nivel activo
+     */
     public Socio buscarSocioPorCedula(String cedula) {
-        return indiceCedulas.get(cedula);
+        Socio socio = indiceCedulas.get(cedula);
+        if (socio != null) {
+            return socio;
+        }
+
+        synchronized (bloqueoNiveles) {
+            socio = indiceCedulas.get(cedula);
+            return socio != null ? socio : reactivar(cedula);
+        }
     }
 
+    /**
+     * Busca la cuenta; si su socio está archivado lo devuelve al nivel activo
+     */
     public Cuenta buscarCuenta(String numeroCuenta) {
-        return indiceNumeroCuentas.get(numeroCuenta);
+        Cuenta cuenta = indiceNumeroCuentas.get(numeroCuenta);
+        if (cuenta != null) {
+            return cuenta;
+        }
+
+        synchronized (bloqueoNiveles) {
+            cuenta = indiceNumeroCuentas.get(numeroCuenta);
+            if (cuenta != null) {
+                return cuenta;
+            }
+            String cedula = almacenInactivos.cedulaDeCuenta(numeroCuenta);
+            if (cedula == null) {
+                return null;
+            }
+            reactivar(cedula);
+            return indiceNumeroCuentas.get(numeroCuenta);
+        }
+    }
+
+    /**
+     * Resumen de cartera del socio servido desde la caché; null si no existe
+     */
+    public CacheCarteraSocios.VistaCartera consultarCarteraSocio(String cedula) {
+        Socio socio = buscarSocioPorCedula(cedula);
+        return socio == null ? null : cacheCartera.obtener(socio);
+    }
+
+    public CacheCarteraSocios.Estadisticas getEstadisticasCacheCartera() {
+        return cacheCartera.getEstadisticas();
     }
 
     private String obtenerPropietarioCuenta(Cuenta cuenta) {
-        return socios.stream()
-                .filter(socio -> socio.getCuentas().contains(cuenta))
+        return Optional.ofNullable(cuenta.getTitular())
                 .map(Socio::getNombre)
-                .findFirst()
                 .orElse("Propietario no encontrado");
     }
 
@@ -140,29 +460,43 @@ public final class Cooperativa {
         System.out.println("       REPORTE COMPLETO DE LA COOPERATIVA");
         System.out.println("=".repeat(60));
 
-        DoubleSummaryStatistics estadisticas = cuentas.stream()
-                .mapToDouble(Cuenta::getSaldo)
-                .summaryStatistics();
+        Map<Boolean, DoubleSummaryStatistics> porTipo = streamTodasLasCuentas()
+                .collect(Collectors.partitioningBy(Cuenta::esDeposito,
+                        Collectors.summarizingDouble(Cuenta::getSaldo)));
+        DoubleSummaryStatistics depositos = porTipo.get(true);
+        DoubleSummaryStatistics creditos = porTipo.get(false);
+        long totalSocios;
+        long sociosArchivados;
+        synchronized (bloqueoNiveles) {
+            sociosArchivados = almacenInactivos.getNumeroSocios();
+            totalSocios = socios.size() - pendientesRetiro.size() + sociosArchivados;
+        }
 
         System.out.printf("""
                         📊 ESTADÍSTICAS:
-                        • Total de socios: %d
-                        • Total de cuentas: %d
-                        • Saldo total: $%.2f
+                        • Total de socios: %d (%d archivados por inactividad)
+                        • Total de cuentas: %d (%d de depósito, %d de crédito)
+                        • Saldo total en depósitos: $%.2f
                         • Saldo promedio: $%.2f
                         • Saldo máximo: $%.2f
                         • Saldo mínimo: $%.2f
+                        • Capital prestado en créditos: $%.2f
                         %n""",
-                socios.size(),
-                cuentas.size(),
-                estadisticas.getSum(),
-                estadisticas.getAverage(),
-                estadisticas.getMax(),
-                estadisticas.getMin());
+                totalSocios,
+                sociosArchivados,
+                depositos.getCount() + creditos.getCount(),
+                depositos.getCount(),
+                creditos.getCount(),
+                depositos.getSum(),
+                depositos.getAverage(),
+                depositos.getMax(),
+                depositos.getMin(),
+                creditos.getSum());
 
         listarSociosRegistrados();
         mostrarCuentasConSaldoMayor(saldoMinimo);
         mostrarCalculosTotales();
+        mostrarResumenCartera(LocalDate.now());
     }
 
     public String getNombre() {
@@ -173,11 +507,302 @@ public final class Cooperativa {
         return nit;
     }
 
+    /**
+     * Copia inmutable de los socios del nivel activo. Los archivados se obtienen
+     * con buscarSocioPorCedula; para totales use los métodos de la cooperativa.
+     */
     public List<Socio> getSocios() {
-        return Collections.unmodifiableList(socios);
+        return List.copyOf(socios);
     }
 
+    /**
+     * Copia inmutable de las cuentas del nivel activo: una vista de la lista
+     * copy-on-write se invalidaría con cada reactivación concurrente.
+     */
     public List<Cuenta> getCuentas() {
-        return Collections.unmodifiableList(cuentas);
+        return List.copyOf(cuentas);
+    }
+
+    /**
+     * Mueve al almacén de inactivos a los socios sin movimientos en el periodo indicado.
+     * Sus cuentas salen del heap y vuelven de forma transparente al buscarlas o modificarlas.
+     * Devuelve cuántos socios se archivaron.
+     */
+    public int archivarSociosInactivos(Duration inactividad) {
+        Objects.requireNonNull(inactividad, "El periodo de inactividad no puede ser nulo");
+        long limite = System.currentTimeMillis() - inactividad.toMillis();
+
+        int archivados = 0;
+        for (Socio socio : socios) {
+            if (!socio.isArchivado() && socio.getUltimaActividad() < limite
+                    && AlmacenSociosInactivos.puedeArchivar(socio) && archivar(socio, limite)) {
+                archivados++;
+            }
+        }
+
+        synchronized (bloqueoNiveles) {
+            almacenInactivos.sellarBloque();
+            socios.removeIf(pendientesRetiro::contains);
+            cuentas.removeIf(cuenta -> cuenta.getTitular() != null && pendientesRetiro.contains(cuenta.getTitular()));
+            pendientesRetiro.clear();
+
+            if (almacenInactivos.getRegistrosEliminados() > almacenInactivos.getNumeroSocios()) {
+                almacenInactivos.compactar();
+            }
+        }
+
+        LOGGER.log(Level.INFO, "Socios archivados por inactividad: {0}", archivados);
+        return archivados;
+    }
+
+    public void compactarNivelInactivo() {
+        synchronized (bloqueoNiveles) {
+            almacenInactivos.compactar();
+        }
+    }
+
+    /**
+     * Socios devueltos al nivel activo desde que se creó la cooperativa
+     */
+    public long getReactivacionesNivelInactivo() {
+        synchronized (bloqueoNiveles) {
+            return reactivaciones;
+        }
+    }
+
+    public AlmacenSociosInactivos.Estadisticas getEstadisticasNivelInactivo() {
+        synchronized (bloqueoNiveles) {
+            purgarReferencias();
+            return almacenInactivos.getEstadisticas();
+        }
+    }
+
+    /**
+     * Archiva al socio con todas sus cuentas bloqueadas, para que ningún
+     * movimiento quede entre la copia y el retiro del nivel activo
+     */
+    private boolean archivar(Socio socio, long limite) {
+        List<Cuenta> ordenadas = socio.streamCuentas()
+                .sorted(Comparator.comparing(Cuenta::getNumeroCuenta))
+                .toList();
+
+        return conCuentasBloqueadas(ordenadas, 0, () -> {
+            synchronized (bloqueoNiveles) {
+                String cedula = socio.getCedula();
+                if (socio.isArchivado() || socio.getUltimaActividad() >= limite
+                        || indiceCedulas.get(cedula) != socio || socio.getCuentas().size() != ordenadas.size()) {
+                    return false;
+                }
+
+                purgarReferencias();
+                almacenInactivos.archivar(socio);
+                socio.marcarArchivado(true);
+                // En el almacén los saldos cambian por liquidación sin pasar por el observador
+                cacheCartera.invalidar(cedula);
+                indiceCedulas.remove(cedula, socio);
+                socio.streamCuentas().forEach(cuenta -> indiceNumeroCuentas.remove(cuenta.getNumeroCuenta(), cuenta));
+                sociosMaterializados.put(cedula, new ReferenciaSocio(socio, referenciasLiberadas));
+                pendientesRetiro.add(socio);
+                return true;
+            }
+        });
+    }
+
+    private static boolean conCuentasBloqueadas(List<Cuenta> ordenadas, int desde, BooleanSupplier accion) {
+        if (desde == ordenadas.size()) {
+            return accion.getAsBoolean();
+        }
+        synchronized (ordenadas.get(desde)) {
+            return conCuentasBloqueadas(ordenadas, desde + 1, accion);
+        }
+    }
+
+    /**
+     * Saca al socio del almacén y lo registra de nuevo en el nivel activo.
+     * Si alguien conserva la instancia archivada se reutiliza esa misma, para
+     * que nunca haya dos objetos vivos del mismo socio. Requiere bloqueoNiveles.
+     */
+    private Socio reactivar(String cedula) {
+        purgarReferencias();
+        Socio copia = almacenInactivos.retirar(cedula);
+        if (copia == null) {
+            return indiceCedulas.get(cedula);
+        }
+        reactivaciones++;
+
+        Socio socio = Optional.ofNullable(sociosMaterializados.remove(cedula))
+                .map(Reference::get)
+                .orElse(copia);
+        // La instancia archivada recibe liquidaciones sin aviso: ninguna vista previa es confiable
+        cacheCartera.invalidar(cedula);
+        socio.setObservadorSaldo(observadorSocios);
+        socio.marcarArchivado(false);
+        indiceCedulas.put(cedula, socio);
+        socio.streamCuentas().forEach(cuenta -> indiceNumeroCuentas.put(cuenta.getNumeroCuenta(), cuenta));
+        if (!pendientesRetiro.remove(socio)) {
+            socios.add(socio);
+            cuentas.addAll(socio.getCuentas());
+        }
+        return socio;
+    }
+
+    /**
+     * Instancias de socios archivados, compartidas por identidad con las que
+     * devolvería buscarSocioPorCedula
+     */
+    private List<Socio> materializar(Collection<String> cedulas) {
+        synchronized (bloqueoNiveles) {
+            purgarReferencias();
+            List<Socio> resultado = new ArrayList<>(cedulas.size());
+
+            for (String cedula : cedulas) {
+                ReferenciaSocio referencia = sociosMaterializados.get(cedula);
+                Socio socio = referencia == null ? null : referencia.get();
+                if (socio == null) {
+                    socio = almacenInactivos.leer(cedula);
+                    if (socio == null) {
+                        Optional.ofNullable(indiceCedulas.get(cedula)).ifPresent(resultado::add);
+                        continue;
+                    }
+                    socio.setObservadorSaldo(observadorSocios);
+                    socio.marcarArchivado(true);
+                    sociosMaterializados.put(cedula, new ReferenciaSocio(socio, referenciasLiberadas));
+                }
+                resultado.add(socio);
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Instancias archivadas que siguen vivas fuera de la cooperativa. Requiere bloqueoNiveles.
+     */
+    private List<Socio> sociosMaterializados() {
+        purgarReferencias();
+        return sociosMaterializados.values().stream()
+                .map(Reference::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void purgarReferencias() {
+        Reference<? extends Socio> liberada;
+        while ((liberada = referenciasLiberadas.poll()) != null) {
+            ReferenciaSocio referencia = (ReferenciaSocio) liberada;
+            sociosMaterializados.remove(referencia.cedula, referencia);
+        }
+    }
+
+    private void reactivarSiArchivado(Socio socio) {
+        if (!socio.isArchivado()) {
+            return;
+        }
+        synchronized (bloqueoNiveles) {
+            ReferenciaSocio referencia = sociosMaterializados.get(socio.getCedula());
+            if (socio.isArchivado() && referencia != null && referencia.get() == socio) {
+                reactivar(socio.getCedula());
+            }
+        }
+    }
+
+    private boolean estaArchivado(String cedula) {
+        synchronized (bloqueoNiveles) {
+            return almacenInactivos.contieneSocio(cedula);
+        }
+    }
+
+    private boolean estaArchivada(String numeroCuenta) {
+        synchronized (bloqueoNiveles) {
+            return almacenInactivos.cedulaDeCuenta(numeroCuenta) != null;
+        }
+    }
+
+    private static boolean estaArchivada(Cuenta cuenta) {
+        Socio titular = cuenta.getTitular();
+        return titular != null && titular.isArchivado();
+    }
+
+    private void sincronizarLiquidaciones(Cuenta cuenta) {
+        if (cuenta instanceof CuentaAhorros ahorros && ahorros.getLiquidacionesAplicadas() < liquidacionesAhorro) {
+            ahorros.sincronizarLiquidaciones(liquidacionesAhorro);
+        }
+    }
+
+    private Stream<Cuenta> streamCuentasActivas() {
+        return cuentas.stream()
+                .filter(cuenta -> !estaArchivada(cuenta));
+    }
+
+    /**
+     * Socios de ambos niveles tomados en el mismo instante, para que quien
+     * cambie de nivel durante el recorrido no se cuente dos veces ni se omita
+     */
+    private Stream<Socio> streamTodosLosSocios() {
+        synchronized (bloqueoNiveles) {
+            Set<Socio> retirando = sociosRetirando();
+            return Stream.concat(socios.stream().filter(socio -> !retirando.contains(socio)),
+                    almacenInactivos.instantanea().streamSocios());
+        }
+    }
+
+    /**
+     * Cuentas de ambos niveles tomadas en el mismo instante
+     */
+    private Stream<Cuenta> streamTodasLasCuentas() {
+        synchronized (bloqueoNiveles) {
+            return Stream.concat(cuentasActivasAlCorte(), almacenInactivos.instantanea().streamCuentas());
+        }
+    }
+
+    /**
+     * Las listas copy-on-write fijan su contenido al crear el stream, así que
+     * basta excluir a los socios que se están archivando en este momento.
+     * Requiere bloqueoNiveles.
+     */
+    private Stream<Cuenta> cuentasActivasAlCorte() {
+        Set<Socio> retirando = sociosRetirando();
+        return cuentas.stream()
+                .filter(cuenta -> !retirando.contains(cuenta.getTitular()));
+    }
+
+    private Set<Socio> sociosRetirando() {
+        purgarReferencias();
+        if (pendientesRetiro.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Socio> copia = Collections.newSetFromMap(new IdentityHashMap<>(pendientesRetiro.size()));
+        copia.addAll(pendientesRetiro);
+        return copia;
+    }
+
+    /**
+     * Reactiva al socio archivado cuando cambia cualquier cuenta suya, no sólo
+     * el saldo, porque el almacén conserva la copia anterior. Las liquidaciones
+     * numeradas y la causación de créditos llegan sin aviso a las instancias
+     * archivadas; el almacén las aplica igual al leerlas.
+     */
+    private final class ObservadorNiveles implements ObservadorSaldo {
+        @Override
+        public void saldoCambiado(Socio socio, Cuenta cuenta, double saldoAnterior, double saldoNuevo) {
+        }
+
+        @Override
+        public void cuentaModificada(Socio socio, Cuenta cuenta) {
+            reactivarSiArchivado(socio);
+        }
+
+        @Override
+        public void cuentasCambiadas(Socio socio) {
+            reactivarSiArchivado(socio);
+        }
+    }
+
+    private static final class ReferenciaSocio extends WeakReference<Socio> {
+        private final String cedula;
+
+        ReferenciaSocio(Socio socio, ReferenceQueue<Socio> cola) {
+            super(socio, cola);
+            this.cedula = socio.getCedula();
+        }
     }
 }
@@ -2,7 +2,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
 import java.util.logging.Level;
-import java.util.ArrayList;
 
 /**
  * Clase principal que demuestra la funcionalidad del sistema de la Cooperativa
@@ -11,11 +10,13 @@ import java.util.ArrayList;
 public class CooperativaSistemaGestor {
     private static final Logger LOGGER = Logger.getLogger(CooperativaSistemaGestor.class.getName());
     private static final double SALDO_MINIMO_FILTRO = 500000.0;
+    private static final String NOMBRE_COOPERATIVA = "CoopRKC";
+    private static final String NIT_COOPERATIVA = "900123456-7";
 
     public static void main(String[] args) {
         try {
-            // Crear cooperativa mock para demostración
-            var cooperativa = new CooperativaMock();
+            // Crear cooperativa para demostración
+            var cooperativa = new Cooperativa(NOMBRE_COOPERATIVA, NIT_COOPERATIVA);
             inicializarCooperativa(cooperativa);
             realizarOperaciones(cooperativa);
             mostrarReportes(cooperativa);
@@ -29,7 +30,7 @@ public class CooperativaSistemaGestor {
     /**
      * Inicializa la cooperativa con datos de prueba
      */
-    private static void inicializarCooperativa(CooperativaMock cooperativa) {
+    private static void inicializarCooperativa(Cooperativa cooperativa) {
         if (cooperativa == null) {
             throw new IllegalArgumentException("La cooperativa no puede ser nula");
         }
@@ -74,7 +75,7 @@ public class CooperativaSistemaGestor {
     /**
      * Realiza operaciones de retiro y aplicación de intereses
      */
-    private static void realizarOperaciones(CooperativaMock cooperativa) {
+    private static void realizarOperaciones(Cooperativa cooperativa) {
         try {
             // Realizar retiros usando records
             record OperacionRetiro(String numeroCuenta, double monto) {}
@@ -98,11 +99,8 @@ public class CooperativaSistemaGestor {
                 }
             });
 
-            // Aplicar intereses usando streams
-            cooperativa.todasLasCuentas().stream()
-                    .filter(CuentaAhorros.class::isInstance)
-                    .map(CuentaAhorros.class::cast)
-                    .forEach(CuentaAhorros::aplicarIntereses);
+            // Liquidación numerada: alcanza también a los socios archivados
+            cooperativa.aplicarInteresesCuentasAhorro();
 
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error durante las operaciones", e);
@@ -112,7 +110,7 @@ public class CooperativaSistemaGestor {
     /**
      * Muestra reportes de la cooperativa
      */
-    private static void mostrarReportes(CooperativaMock cooperativa) {
+    private static void mostrarReportes(Cooperativa cooperativa) {
         try {
             // Usando text blocks (JDK 15+)
             System.out.println("""
@@ -120,23 +118,17 @@ public class CooperativaSistemaGestor {
                 === REPORTES DE LA COOPERATIVA ===
                 """);
 
-            // Listar socios usando method reference
+            // Los reportes incluyen a los socios archivados en el nivel inactivo
             System.out.println("Socios registrados:");
-            cooperativa.listarSocios().stream()
-                    .map(Socio::getNombre)
+            cooperativa.streamNombresSocios()
                     .forEach(nombre -> System.out.printf("- %s%n", nombre));
 
-            // Filtrar cuentas usando streams
             System.out.println("\nCuentas con saldo mayor a " + String.format("%.2f", SALDO_MINIMO_FILTRO) + ":");
-            cooperativa.todasLasCuentas().stream()
-                    .filter(cuenta -> cuenta.getSaldo() > SALDO_MINIMO_FILTRO)
+            cooperativa.filtrarCuentasPorSaldoMinimo(SALDO_MINIMO_FILTRO)
                     .forEach(cuenta -> System.out.printf("Cuenta: %s, Saldo: %.2f%n",
                             cuenta.getNumeroCuenta(), cuenta.getSaldo()));
 
-            // Calcular total usando streams
-            double total = cooperativa.todasLasCuentas().stream()
-                    .mapToDouble(Cuenta::getSaldo)
-                    .sum();
+            double total = cooperativa.obtenerSumaTotalSaldos();
             System.out.printf("%nTotal en la cooperativa: %.2f%n", total);
 
         } catch (Exception e) {
@@ -147,7 +139,7 @@ public class CooperativaSistemaGestor {
     /**
      * Realiza validaciones del sistema
      */
-    private static void realizarValidaciones(CooperativaMock cooperativa) {
+    private static void realizarValidaciones(Cooperativa cooperativa) {
         try {
             // Intentar crear cuenta duplicada
             var socio = cooperativa.buscarSocioPorCedula("1002");
@@ -161,42 +153,4 @@ public class CooperativaSistemaGestor {
             LOGGER.log(Level.WARNING, "Error inesperado en validaciones", e);
         }
     }
-
-    /**
-     * Clase mock para simular la funcionalidad de Cooperativa
-     */
-    static class CooperativaMock {
-        private final List<Socio> socios = new ArrayList<>();
-        private final List<Cuenta> cuentas = new ArrayList<>();
-
-        public void registrarSocio(Socio socio) {
-            socios.add(socio);
-        }
-
-        public void agregarCuenta(Cuenta cuenta) {
-            cuentas.add(cuenta);
-        }
-
-        public Socio buscarSocioPorCedula(String cedula) {
-            return socios.stream()
-                    .filter(s -> s.getCedula().equals(cedula))
-                    .findFirst()
-                    .orElse(null);
-        }
-
-        public Cuenta buscarCuenta(String numeroCuenta) {
-            return cuentas.stream()
-                    .filter(c -> c.getNumeroCuenta().equals(numeroCuenta))
-                    .findFirst()
-                    .orElse(null);
-        }
-
-        public List<Socio> listarSocios() {
-            return new ArrayList<>(socios);
-        }
-
-        public List<Cuenta> todasLasCuentas() {
-            return new ArrayList<>(cuentas);
-        }
-    }
 }
\ No newline at end of file
@@ -3,10 +3,12 @@ import java.util.Objects;
 /**
  * Clase abstracta base para todas las cuentas.
  * Implementa abstracción y define el contrato común.
+ * Las operaciones sobre el saldo se sincronizan sobre la propia cuenta.
  */
 public abstract class Cuenta {
     protected final String numeroCuenta;
     protected double saldo;
+    private volatile Socio titular;
 
     public Cuenta(String numeroCuenta, double saldoInicial) {
         this.numeroCuenta = Objects.requireNonNull(numeroCuenta,
@@ -26,17 +28,19 @@ public abstract class Cuenta {
     /**
      * Método para depositar dinero
      */
-    public void depositar(double monto) {
+    public synchronized void depositar(double monto) {
         if (monto <= 0) {
             throw new IllegalArgumentException("El monto a depositar debe ser mayor a 0");
         }
+        double saldoAnterior = saldo;
         this.saldo += monto;
+        notificarCambio(saldoAnterior);
     }
 
     /**
      * Método para retirar dinero con validación de saldo
      */
-    public void retirar(double monto) {
+    public synchronized void retirar(double monto) {
         if (monto <= 0) {
             throw new IllegalArgumentException("El monto a retirar debe ser mayor a 0");
         }
@@ -47,7 +51,40 @@ public abstract class Cuenta {
                             saldo, monto));
         }
 
+        double saldoAnterior = saldo;
         this.saldo -= monto;
+        notificarCambio(saldoAnterior);
+    }
+
+    /**
+     * Avisa al titular que la cuenta cambió, aunque el saldo sea el mismo;
+     * debe llamarse con la cuenta bloqueada
+     */
+    protected void notificarCambio(double saldoAnterior) {
+        notificarCambio(saldoAnterior, true);
+    }
+
+    /**
+     * Igual que {@link #notificarCambio(double)}; movimiento es false para las
+     * liquidaciones y comisiones, que no cuentan como actividad del socio
+     */
+    protected void notificarCambio(double saldoAnterior, boolean movimiento) {
+        Socio socio = titular;
+        if (socio != null) {
+            socio.notificarCambioCuenta(this, saldoAnterior, saldo, movimiento);
+        }
+    }
+
+    /**
+     * Indica si el saldo es dinero depositado por el socio. Los créditos lo
+     * sobrescriben porque su saldo es capital adeudado a la cooperativa.
+     */
+    public boolean esDeposito() {
+        return true;
+    }
+
+    void asignarTitular(Socio socio) {
+        this.titular = socio;
     }
 
     // Método abstracto para aplicar políticas específicas
@@ -58,10 +95,14 @@ public abstract class Cuenta {
         return numeroCuenta;
     }
 
-    public double getSaldo() {
+    public synchronized double getSaldo() {
         return saldo;
     }
 
+    public Socio getTitular() {
+        return titular;
+    }
+
     @Override
     public String toString() {
         return String.format("Cuenta{numero='%s', saldo=%.2f}", numeroCuenta, saldo);
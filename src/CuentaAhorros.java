@@ -4,6 +4,7 @@
  */
 public final class CuentaAhorros extends Cuenta {
     private final double tasaInteres;
+    private int liquidacionesAplicadas;
     private static final double COMISION_MANEJO = 5000.0;
 
     public CuentaAhorros(String numeroCuenta, double saldoInicial, double tasaInteres) {
@@ -18,20 +19,63 @@ public final class CuentaAhorros extends Cuenta {
     }
 
     /**
-     * Aplica intereses a la cuenta
+     * Aplica intereses a la cuenta fuera de las liquidaciones numeradas.
+     * No cuenta como actividad del socio; la cooperativa liquida con
+     * aplicarInteresesCuentasAhorro para que los archivados también la reciban.
      */
-    public void aplicarIntereses() {
-        double intereses = saldo * tasaInteres;
-        saldo += intereses;
+    public synchronized void aplicarIntereses() {
+        double saldoAnterior = saldo;
+        saldo += saldo * tasaInteres;
+        notificarCambio(saldoAnterior, false);
+    }
+
+    /**
+     * Aplica las liquidaciones de intereses que falten hasta la indicada.
+     * Una liquidación ya aplicada no se repite; devuelve cuántas se aplicaron.
+     */
+    public synchronized int aplicarInteresesHasta(int liquidacion) {
+        return liquidarHasta(liquidacion, true);
+    }
+
+    /**
+     * Igual que aplicarInteresesHasta pero sin avisar al titular. Es para las
+     * instancias de socios archivados, que no deben volver al nivel activo
+     * sólo por recibir una liquidación.
+     */
+    synchronized int aplicarInteresesHastaSinAviso(int liquidacion) {
+        return liquidarHasta(liquidacion, false);
+    }
+
+    private int liquidarHasta(int liquidacion, boolean avisar) {
+        int pendientes = liquidacion - liquidacionesAplicadas;
+        if (pendientes <= 0) {
+            return 0;
+        }
+
+        double saldoAnterior = saldo;
+        for (int i = 0; i < pendientes; i++) {
+            saldo += saldo * tasaInteres;
+        }
+        liquidacionesAplicadas = liquidacion;
+        if (avisar) {
+            notificarCambio(saldoAnterior, false);
+        }
+        return pendientes;
+    }
+
+    synchronized void sincronizarLiquidaciones(int liquidacion) {
+        this.liquidacionesAplicadas = liquidacion;
     }
 
     /**
      * Implementación polimórfica de aplicar comisión
      */
     @Override
-    public void aplicarComision() {
+    public synchronized void aplicarComision() {
         if (saldo >= COMISION_MANEJO) {
+            double saldoAnterior = saldo;
             saldo -= COMISION_MANEJO;
+            notificarCambio(saldoAnterior, false);
         }
     }
 
@@ -39,7 +83,7 @@ public final class CuentaAhorros extends Cuenta {
      * Override del método retirar para aplicar reglas específicas de cuenta de ahorros
      */
     @Override
-    public void retirar(double monto) {
+    public synchronized void retirar(double monto) {
         // Validación adicional para cuenta de ahorros
         double saldoMinimo = 50000.0;
 
@@ -57,6 +101,10 @@ public final class CuentaAhorros extends Cuenta {
         return tasaInteres;
     }
 
+    public synchronized int getLiquidacionesAplicadas() {
+        return liquidacionesAplicadas;
+    }
+
     @Override
     public String toString() {
         return String.format("CuentaAhorros{numero='%s', saldo=%.2f, tasaInteres=%.3f}",
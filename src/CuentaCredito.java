@@ -0,0 +1,404 @@
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Cuenta de crédito amortizada por el método francés (cuota fija).
+ * El saldo representa el capital pendiente por pagar; los intereses se causan
+ * diariamente y se cobran antes que el capital en cada pago.
+ */
+public final class CuentaCredito extends Cuenta {
+    private static final double COMISION_MANEJO = 5000.0;
+    private static final double DIAS_ANIO = 365.0;
+    private static final double TOLERANCIA = 0.005;
+
+    private final double tasaInteresMensual;
+    private final int plazoMeses;
+    private volatile Plan plan;
+    private double interesCausado;
+    private double comisionesPendientes;
+    private double totalPagado;
+    private LocalDate fechaUltimaCausacion;
+
+    /**
+     * Cuota de la tabla de amortización. Se calcula bajo demanda a partir del
+     * plan original, por lo que no es necesario guardar la tabla completa.
+     */
+    public record Cuota(int numero, LocalDate fechaVencimiento, double valorCuota,
+                        double interes, double abonoCapital, double saldoPendiente) {}
+
+    /**
+     * Desembolso vigente; cambia sólo al renovar el crédito, de una vez
+     */
+    private record Plan(double montoDesembolsado, LocalDate fechaDesembolso, double valorCuota) {}
+
+    public CuentaCredito(String numeroCuenta, double montoDesembolsado, double tasaInteresMensual,
+                         int plazoMeses, LocalDate fechaDesembolso) {
+        super(numeroCuenta, montoDesembolsado);
+
+        if (montoDesembolsado <= 0) {
+            throw new IllegalArgumentException("El monto desembolsado debe ser mayor a 0");
+        }
+        if (tasaInteresMensual < 0 || tasaInteresMensual > 1) {
+            throw new IllegalArgumentException(
+                    "La tasa de interés debe estar entre 0 y 1 (0% y 100%)");
+        }
+        if (plazoMeses <= 0) {
+            throw new IllegalArgumentException("El plazo debe ser de al menos un mes");
+        }
+
+        this.tasaInteresMensual = tasaInteresMensual;
+        this.plazoMeses = plazoMeses;
+        this.plan = new Plan(montoDesembolsado, Objects.requireNonNull(fechaDesembolso,
+                "La fecha de desembolso no puede ser nula"),
+                calcularCuotaFija(montoDesembolsado, tasaInteresMensual, plazoMeses));
+        this.fechaUltimaCausacion = fechaDesembolso;
+    }
+
+    /**
+     * Cuota fija del método francés: P * i / (1 - (1 + i)^-n)
+     */
+    public static double calcularCuotaFija(double monto, double tasaMensual, int plazoMeses) {
+        if (tasaMensual == 0) {
+            return monto / plazoMeses;
+        }
+        return monto * tasaMensual / (1 - Math.pow(1 + tasaMensual, -plazoMeses));
+    }
+
+    /**
+     * Restaura el estado guardado de un crédito, por ejemplo al leerlo del
+     * almacén de socios inactivos
+     */
+    synchronized void restaurarEstado(double saldo, double interesCausado, double comisionesPendientes,
+                                      double totalPagado, LocalDate fechaUltimaCausacion) {
+        this.saldo = saldo;
+        this.interesCausado = interesCausado;
+        this.comisionesPendientes = comisionesPendientes;
+        this.totalPagado = totalPagado;
+        this.fechaUltimaCausacion = Objects.requireNonNull(fechaUltimaCausacion,
+                "La fecha de causación no puede ser nula");
+    }
+
+    /**
+     * Renueva un crédito cancelado con un nuevo desembolso sobre la misma cuenta,
+     * con la tasa y el plazo originales; el plan de pagos empieza en la fecha indicada
+     */
+    public synchronized void renovar(double monto, LocalDate fecha) {
+        Objects.requireNonNull(fecha, "La fecha de desembolso no puede ser nula");
+        if (!estaCancelado()) {
+            throw new IllegalArgumentException("El crédito " + numeroCuenta + " no está cancelado");
+        }
+        if (monto <= 0) {
+            throw new IllegalArgumentException("El monto desembolsado debe ser mayor a 0");
+        }
+        if (fecha.isBefore(fechaUltimaCausacion)) {
+            throw new IllegalArgumentException("La renovación no puede ser anterior a la última causación");
+        }
+
+        double saldoAnterior = saldo;
+        plan = new Plan(monto, fecha, calcularCuotaFija(monto, tasaInteresMensual, plazoMeses));
+        saldo = monto;
+        interesCausado = 0.0;
+        comisionesPendientes = 0.0;
+        totalPagado = 0.0;
+        fechaUltimaCausacion = fecha;
+        notificarCambio(saldoAnterior);
+    }
+
+    /**
+     * Causa los intereses de un día sobre el capital pendiente
+     */
+    public synchronized double causarInteresDiario() {
+        return causarIntereses(fechaUltimaCausacion.plusDays(1));
+    }
+
+    /**
+     * Causa los intereses de los días transcurridos hasta la fecha indicada.
+     * Devuelve el interés causado en esta llamada.
+     */
+    public synchronized double causarIntereses(LocalDate hasta) {
+        Objects.requireNonNull(hasta, "La fecha de causación no puede ser nula");
+
+        long dias = ChronoUnit.DAYS.between(fechaUltimaCausacion, hasta);
+        if (dias <= 0) {
+            return 0.0;
+        }
+
+        double intereses = saldo * getTasaInteresDiaria() * dias;
+        interesCausado += intereses;
+        fechaUltimaCausacion = hasta;
+        return intereses;
+    }
+
+    /**
+     * Aplica un pago: primero a las comisiones, luego a los intereses causados
+     * y el resto a capital. Devuelve la porción abonada a capital.
+     * Lo abonado a comisiones no cuenta para cubrir cuotas.
+     */
+    public synchronized double pagar(double monto) {
+        if (monto <= 0) {
+            throw new IllegalArgumentException("El monto a pagar debe ser mayor a 0");
+        }
+
+        double deudaTotal = getDeudaTotal();
+        if (monto > deudaTotal + TOLERANCIA) {
+            throw new IllegalArgumentException(
+                    String.format("El pago excede la deuda. Deuda total: $%.2f, Monto pagado: $%.2f",
+                            deudaTotal, monto));
+        }
+
+        double saldoAnterior = saldo;
+        double abonoComision = Math.min(monto, comisionesPendientes);
+        double abonoInteres = Math.min(monto - abonoComision, interesCausado);
+        double abonoCapital = Math.min(monto - abonoComision - abonoInteres, saldo);
+        comisionesPendientes -= abonoComision;
+        interesCausado -= abonoInteres;
+        saldo -= abonoCapital;
+        totalPagado += abonoInteres + abonoCapital;
+        notificarCambio(saldoAnterior);
+        return abonoCapital;
+    }
+
+    /**
+     * En un crédito el depósito se interpreta como un pago
+     */
+    @Override
+    public synchronized void depositar(double monto) {
+        pagar(monto);
+    }
+
+    /**
+     * Los créditos no admiten retiros; el desembolso se hace al crearlos
+     */
+    @Override
+    public void retirar(double monto) {
+        throw new IllegalArgumentException(
+                "La cuenta de crédito " + numeroCuenta + " no admite retiros");
+    }
+
+    /**
+     * El saldo de un crédito es deuda del socio, no un depósito
+     */
+    @Override
+    public boolean esDeposito() {
+        return false;
+    }
+
+    /**
+     * La comisión de manejo queda pendiente de pago, aparte de los intereses.
+     * No mueve el saldo, pero se avisa para que el cargo no se pierda.
+     */
+    @Override
+    public synchronized void aplicarComision() {
+        if (!estaCancelado()) {
+            comisionesPendientes += COMISION_MANEJO;
+            notificarCambio(saldo, false);
+        }
+    }
+
+    /**
+     * Tabla de amortización del plan original como stream perezoso:
+     * cada cuota se calcula cuando se consume.
+     */
+    public Stream<Cuota> tablaAmortizacion() {
+        Plan vigente = plan;
+        return IntStream.rangeClosed(1, plazoMeses)
+                .mapToObj(numero -> cuota(vigente, numero));
+    }
+
+    /**
+     * Calcula la cuota número k del plan original
+     */
+    public Cuota cuota(int numero) {
+        return cuota(plan, numero);
+    }
+
+    private Cuota cuota(Plan vigente, int numero) {
+        if (numero < 1 || numero > plazoMeses) {
+            throw new IllegalArgumentException(
+                    String.format("La cuota debe estar entre 1 y %d", plazoMeses));
+        }
+
+        double saldoAnterior = saldoProgramado(vigente, numero - 1);
+        double interes = saldoAnterior * tasaInteresMensual;
+        double abonoCapital = numero == plazoMeses ? saldoAnterior : vigente.valorCuota() - interes;
+
+        return new Cuota(numero, vigente.fechaDesembolso().plusMonths(numero), interes + abonoCapital,
+                interes, abonoCapital, saldoProgramado(vigente, numero));
+    }
+
+    /**
+     * Saldo de capital que el plan original prevé después de k cuotas pagadas
+     */
+    public double saldoProgramado(int cuotasPagadas) {
+        return saldoProgramado(plan, cuotasPagadas);
+    }
+
+    private double saldoProgramado(Plan vigente, int cuotasPagadas) {
+        if (cuotasPagadas <= 0) {
+            return vigente.montoDesembolsado();
+        }
+        if (cuotasPagadas >= plazoMeses) {
+            return 0.0;
+        }
+        if (tasaInteresMensual == 0) {
+            return Math.max(0.0, vigente.montoDesembolsado() - vigente.valorCuota() * cuotasPagadas);
+        }
+
+        double factor = Math.pow(1 + tasaInteresMensual, cuotasPagadas);
+        double saldoPlan = vigente.montoDesembolsado() * factor
+                - vigente.valorCuota() * (factor - 1) / tasaInteresMensual;
+        return Math.max(0.0, saldoPlan);
+    }
+
+    public LocalDate fechaVencimiento(int numeroCuota) {
+        return plan.fechaDesembolso().plusMonths(numeroCuota);
+    }
+
+    /**
+     * Número de cuotas cubiertas: las pagadas por valor o las que el capital
+     * abonado alcanza según el plan, lo que sea mayor (abonos extraordinarios).
+     */
+    public synchronized int cuotasCubiertas() {
+        int pagadas = (int) Math.min(plazoMeses, Math.floor((totalPagado + TOLERANCIA) / plan.valorCuota()));
+        return Math.max(pagadas, cuotasCubiertasPorCapital());
+    }
+
+    /**
+     * El saldo programado es decreciente, así que basta una búsqueda binaria
+     */
+    private int cuotasCubiertasPorCapital() {
+        int desde = 0;
+        int hasta = plazoMeses;
+        while (desde < hasta) {
+            int medio = (desde + hasta + 1) >>> 1;
+            if (saldo <= saldoProgramado(medio) + TOLERANCIA) {
+                desde = medio;
+            } else {
+                hasta = medio - 1;
+            }
+        }
+        return desde;
+    }
+
+    /**
+     * Número de cuotas cuyo vencimiento ya llegó a la fecha de corte.
+     * Se compara contra fechaVencimiento, que ajusta al fin de mes, para que
+     * un desembolso del 31 tenga su primera cuota exigible el 28 o 29 de febrero.
+     */
+    public int cuotasExigibles(LocalDate fechaCorte) {
+        LocalDate desembolso = plan.fechaDesembolso();
+        if (fechaCorte.isBefore(desembolso)) {
+            return 0;
+        }
+        int exigibles = (int) Math.min(plazoMeses, ChronoUnit.MONTHS.between(desembolso, fechaCorte));
+        while (exigibles < plazoMeses && !desembolso.plusMonths(exigibles + 1).isAfter(fechaCorte)) {
+            exigibles++;
+        }
+        return exigibles;
+    }
+
+    public synchronized int cuotasVencidas(LocalDate fechaCorte) {
+        if (estaCancelado()) {
+            return 0;
+        }
+        return Math.max(0, cuotasExigibles(fechaCorte) - cuotasCubiertas());
+    }
+
+    /**
+     * Días transcurridos desde el vencimiento de la cuota impaga más antigua
+     */
+    public synchronized long diasMora(LocalDate fechaCorte) {
+        if (cuotasVencidas(fechaCorte) == 0) {
+            return 0;
+        }
+        return ChronoUnit.DAYS.between(fechaVencimiento(cuotasCubiertas() + 1), fechaCorte);
+    }
+
+    /**
+     * Intereses que faltan por causar si el crédito sigue el plan hasta el final.
+     * Las cuotas restantes ya incluyen el interés causado, que se descuenta para
+     * no contarlo dos veces junto a getInteresCausado.
+     */
+    public synchronized double interesPorCausar() {
+        if (estaCancelado()) {
+            return 0.0;
+        }
+        return Math.max(0.0, plan.valorCuota() * (plazoMeses - cuotasCubiertas()) - saldo - interesCausado);
+    }
+
+    /**
+     * Valor de la próxima cuota: la cuota fija, o toda la deuda si es menor o si
+     * es la última. Los intereses se causan por días y la cuota se calcula con la
+     * tasa mensual, así que la última cuota absorbe la diferencia.
+     */
+    public synchronized double valorProximaCuota() {
+        double deuda = getDeudaTotal();
+        if (cuotasCubiertas() >= plazoMeses - 1) {
+            return deuda;
+        }
+        return Math.min(plan.valorCuota(), deuda);
+    }
+
+    public synchronized boolean estaCancelado() {
+        return getDeudaTotal() <= TOLERANCIA;
+    }
+
+    /**
+     * Capital, intereses causados y comisiones pendientes
+     */
+    public synchronized double getDeudaTotal() {
+        return saldo + interesCausado + comisionesPendientes;
+    }
+
+    public double getTasaInteresDiaria() {
+        return tasaInteresMensual * 12 / DIAS_ANIO;
+    }
+
+    public double getMontoDesembolsado() {
+        return plan.montoDesembolsado();
+    }
+
+    public double getTasaInteresMensual() {
+        return tasaInteresMensual;
+    }
+
+    public int getPlazoMeses() {
+        return plazoMeses;
+    }
+
+    public LocalDate getFechaDesembolso() {
+        return plan.fechaDesembolso();
+    }
+
+    public double getValorCuota() {
+        return plan.valorCuota();
+    }
+
+    public synchronized double getInteresCausado() {
+        return interesCausado;
+    }
+
+    public synchronized double getComisionesPendientes() {
+        return comisionesPendientes;
+    }
+
+    /**
+     * Total abonado a intereses y capital; no incluye comisiones
+     */
+    public synchronized double getTotalPagado() {
+        return totalPagado;
+    }
+
+    public synchronized LocalDate getFechaUltimaCausacion() {
+        return fechaUltimaCausacion;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CuentaCredito{numero='%s', saldo=%.2f, cuota=%.2f, plazo=%d, tasaMensual=%.4f}",
+                numeroCuenta, saldo, plan.valorCuota(), plazoMeses, tasaInteresMensual);
+    }
+}
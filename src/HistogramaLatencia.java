@@ -0,0 +1,88 @@
+/**
+ * Histograma de latencias con cubetas logarítmicas (32 subdivisiones por
+ * potencia de dos, error relativo menor al 3.2%). No es seguro entre hilos:
+ * cada hilo registra en su propio histograma y al final se fusionan.
+ */
+public final class HistogramaLatencia {
+    private static final int BITS_SUBCUBETA = 5;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int CUBETAS = (64 - BITS_SUBCUBETA) * SUBCUBETAS;
+
+    private final long[] conteos = new long[CUBETAS];
+    private long total;
+    private long suma;
+    private long maximo;
+
+    /**
+     * Registra una latencia en nanosegundos
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        conteos[indice(valor)]++;
+        total++;
+        suma += valor;
+        maximo = Math.max(maximo, valor);
+    }
+
+    public void fusionar(HistogramaLatencia otro) {
+        for (int i = 0; i < CUBETAS; i++) {
+            conteos[i] += otro.conteos[i];
+        }
+        total += otro.total;
+        suma += otro.suma;
+        maximo = Math.max(maximo, otro.maximo);
+    }
+
+    /**
+     * Valor (cota superior de la cubeta) bajo el cual cae el percentil indicado, entre 0 y 100
+     */
+    public long percentil(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100");
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long objetivo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= objetivo) {
+                return Math.min(cotaSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    private static int indice(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int subcubeta = (int) (valor >>> (exponente - BITS_SUBCUBETA)) & (SUBCUBETAS - 1);
+        return (exponente - BITS_SUBCUBETA + 1) * SUBCUBETAS + subcubeta;
+    }
+
+    private static long cotaSuperior(int indice) {
+        if (indice < SUBCUBETAS) {
+            return indice;
+        }
+        int exponente = indice / SUBCUBETAS + BITS_SUBCUBETA - 1;
+        int desplazamiento = exponente - BITS_SUBCUBETA;
+        long inferior = (long) (SUBCUBETAS + indice % SUBCUBETAS) << desplazamiento;
+        return inferior + (1L << desplazamiento) - 1;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    public double getPromedio() {
+        return total == 0 ? 0.0 : (double) suma / total;
+    }
+}
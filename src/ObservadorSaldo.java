@@ -0,0 +1,52 @@
+/**
+ * Recibe los cambios de saldo de las cuentas de un socio.
+ * Se invoca mientras la cuenta está bloqueada, por lo que la implementación
+ * no debe bloquear otras cuentas.
+ */
+@FunctionalInterface
+public interface ObservadorSaldo {
+    void saldoCambiado(Socio socio, Cuenta cuenta, double saldoAnterior, double saldoNuevo);
+
+    /**
+     * Se invoca cuando el socio agrega o pierde cuentas
+     */
+    default void cuentasCambiadas(Socio socio) {
+    }
+
+    /**
+     * Se invoca con cada cambio de estado de una cuenta, después de saldoCambiado
+     * si lo hubo. También llega cuando el saldo no cambia, por ejemplo al pagar
+     * sólo intereses de un crédito o al cargarle una comisión.
+     */
+    default void cuentaModificada(Socio socio, Cuenta cuenta) {
+    }
+
+    /**
+     * Observador que reenvía cada aviso a los observadores indicados, en orden
+     */
+    static ObservadorSaldo combinar(ObservadorSaldo... observadores) {
+        ObservadorSaldo[] copia = observadores.clone();
+        return new ObservadorSaldo() {
+            @Override
+            public void saldoCambiado(Socio socio, Cuenta cuenta, double saldoAnterior, double saldoNuevo) {
+                for (ObservadorSaldo observador : copia) {
+                    observador.saldoCambiado(socio, cuenta, saldoAnterior, saldoNuevo);
+                }
+            }
+
+            @Override
+            public void cuentasCambiadas(Socio socio) {
+                for (ObservadorSaldo observador : copia) {
+                    observador.cuentasCambiadas(socio);
+                }
+            }
+
+            @Override
+            public void cuentaModificada(Socio socio, Cuenta cuenta) {
+                for (ObservadorSaldo observador : copia) {
+                    observador.cuentaModificada(socio, cuenta);
+                }
+            }
+        };
+    }
+}
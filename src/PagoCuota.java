@@ -0,0 +1,65 @@
+import java.util.Objects;
+import java.util.logging.Logger;
+
+public final class PagoCuota implements Transaccion {
+    private static final Logger LOGGER = Logger.getLogger(PagoCuota.class.getName());
+
+    private final CuentaCredito credito;
+    private final double monto;
+    private final String tipo = "PAGO_CUOTA";
+
+    /**
+     * Pago por el valor de la próxima cuota; la última salda toda la deuda
+     */
+    public PagoCuota(CuentaCredito credito) {
+        this(credito, Objects.requireNonNull(credito, "El crédito no puede ser nulo").valorProximaCuota());
+    }
+
+    public PagoCuota(CuentaCredito credito, double monto) {
+        this.credito = Objects.requireNonNull(credito, "El crédito no puede ser nulo");
+        if (monto <= 0) {
+            throw new IllegalArgumentException("El monto del pago debe ser mayor a 0");
+        }
+        this.monto = monto;
+    }
+
+    @Override
+    public void ejecutar() throws IllegalArgumentException {
+        try {
+            double saldoAnterior = credito.getSaldo();
+            double abonoCapital = credito.pagar(monto);
+
+            LOGGER.info(String.format("Pago de cuota ejecutado: Crédito %s, Monto: %.2f, Intereses y comisiones: %.2f, Capital: %.2f, Saldo anterior: %.2f, Nuevo saldo: %.2f",
+                    credito.getNumeroCuenta(), monto, monto - abonoCapital, abonoCapital,
+                    saldoAnterior, credito.getSaldo()));
+
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Pago de cuota rechazado: " + e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            LOGGER.severe("Error inesperado al ejecutar pago de cuota: " + e.getMessage());
+            throw new IllegalArgumentException("No se pudo ejecutar el pago de cuota: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public double getMonto() {
+        return monto;
+    }
+
+    @Override
+    public Cuenta getCuenta() {
+        return credito;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PagoCuota{credito='%s', monto=%.2f}",
+                credito.getNumeroCuenta(), monto);
+    }
+}
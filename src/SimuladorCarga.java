@@ -0,0 +1,691 @@
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Simulador de carga determinista para planeación de capacidad.
+ * Genera socios y cuentas sintéticos a partir de una semilla y ejecuta una
+ * mezcla configurable de operaciones contra la {@link Cooperativa} real desde
+ * varios hilos, midiendo throughput, percentiles de latencia, tasa de
+ * asignación de memoria y pausas de GC.
+ *
+ * Uso: java SimuladorCarga --socios=1000000 --hilos=8 --segundos=30
+ *      --calentamiento=10 --semilla=42 --inactivos=0.8 --archivar-dias=365
+ *      --mezcla=DEPOSITO:4000,RETIRO:2500,TRANSFERENCIA:2000,PAGO_CUOTA:1480,INTERESES:19,REPORTE:1,
+ *               CONSULTA_CARTERA:2000
+ *
+ * Los pesos de la mezcla son relativos; los reportes recorren todas las
+ * cuentas, así que incluso un peso pequeño domina el tiempo de los hilos.
+ *
+ * Con --inactivos una fracción de los socios queda sin movimientos desde hace
+ * años; con --archivar-dias se archivan antes de medir y la carga sólo los
+ * despierta de forma ocasional.
+ */
+public final class SimuladorCarga {
+    private static final Logger LOGGER = Logger.getLogger(SimuladorCarga.class.getName());
+
+    private static final long CEDULA_BASE = 10_000_000L;
+    private static final int TAMANO_LOTE_REGISTRO = 50_000;
+    private static final LocalDate FECHA_REFERENCIA = LocalDate.of(2025, 1, 1);
+    private static final int[] PLAZOS_CREDITO = {12, 24, 36, 48, 60};
+    private static final long CONSTANTE_MEZCLA = 0x9E3779B97F4A7C15L;
+    private static final double PROBABILIDAD_DESPERTAR = 0.001;
+    private static final long MILISEGUNDOS_DIA = 86_400_000L;
+    private static final List<String> NOMBRES = combinarNombres(
+            List.of("Ana", "Carlos", "María", "José", "Luisa", "Andrés", "Camila", "Jorge",
+                    "Valentina", "Felipe", "Daniela", "Santiago", "Paula", "Diego", "Laura", "Juan"),
+            List.of("Gómez", "Pérez", "López", "Rodríguez", "Martínez", "García", "Hernández",
+                    "Ramírez", "Torres", "Díaz", "Moreno", "Rojas", "Vargas", "Castro", "Ruiz", "Ortiz"));
+
+    public enum Operacion {
+        DEPOSITO, RETIRO, TRANSFERENCIA, PAGO_CUOTA, INTERESES, REPORTE, CONSULTA_CARTERA
+    }
+
+    public record Configuracion(long semilla, int numeroSocios, int hilos, Duration calentamiento,
+                                Duration duracion, Map<Operacion, Integer> mezcla, int loteIntereses,
+                                double fraccionInactivos, Duration inactividadArchivo) {
+
+        public Configuracion {
+            Objects.requireNonNull(calentamiento, "El calentamiento no puede ser nulo");
+            Objects.requireNonNull(duracion, "La duración no puede ser nula");
+            Objects.requireNonNull(mezcla, "La mezcla de operaciones no puede ser nula");
+            Objects.requireNonNull(inactividadArchivo, "La inactividad para archivar no puede ser nula");
+            if (numeroSocios <= 1) {
+                throw new IllegalArgumentException("Se requieren al menos 2 socios");
+            }
+            if (hilos <= 0) {
+                throw new IllegalArgumentException("El número de hilos debe ser mayor a 0");
+            }
+            if (loteIntereses <= 0) {
+                throw new IllegalArgumentException("El lote de intereses debe ser mayor a 0");
+            }
+            if (fraccionInactivos < 0 || fraccionInactivos >= 1) {
+                throw new IllegalArgumentException("La fracción de socios inactivos debe estar entre 0 y 1");
+            }
+            if (inactividadArchivo.isNegative()) {
+                throw new IllegalArgumentException("La inactividad para archivar no puede ser negativa");
+            }
+            if (mezcla.values().stream().anyMatch(peso -> peso < 0)
+                    || mezcla.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+                throw new IllegalArgumentException("La mezcla debe tener pesos no negativos y al menos uno positivo");
+            }
+            mezcla = Collections.unmodifiableMap(new EnumMap<>(mezcla));
+        }
+
+        public static Configuracion porDefecto() {
+            Map<Operacion, Integer> mezcla = new EnumMap<>(Operacion.class);
+            mezcla.put(Operacion.DEPOSITO, 4000);
+            mezcla.put(Operacion.RETIRO, 2500);
+            mezcla.put(Operacion.TRANSFERENCIA, 2000);
+            mezcla.put(Operacion.PAGO_CUOTA, 1480);
+            mezcla.put(Operacion.INTERESES, 19);
+            mezcla.put(Operacion.REPORTE, 1);
+            mezcla.put(Operacion.CONSULTA_CARTERA, 2000);
+            return new Configuracion(42L, 1_000_000, Runtime.getRuntime().availableProcessors(),
+                    Duration.ofSeconds(10), Duration.ofSeconds(30), mezcla, 1_000, 0.0, Duration.ZERO);
+        }
+
+        /**
+         * Construye la configuración a partir de argumentos --clave=valor
+         */
+        public static Configuracion desdeArgumentos(String[] args) {
+            Configuracion base = porDefecto();
+            long semilla = base.semilla();
+            int socios = base.numeroSocios();
+            int hilos = base.hilos();
+            Duration calentamiento = base.calentamiento();
+            Duration duracion = base.duracion();
+            Map<Operacion, Integer> mezcla = new EnumMap<>(base.mezcla());
+            int loteIntereses = base.loteIntereses();
+            double fraccionInactivos = base.fraccionInactivos();
+            Duration inactividadArchivo = base.inactividadArchivo();
+
+            for (String argumento : args) {
+                String[] partes = argumento.replaceFirst("^--", "").split("=", 2);
+                if (partes.length != 2) {
+                    throw new IllegalArgumentException("Argumento inválido: " + argumento);
+                }
+                String valor = partes[1];
+                switch (partes[0]) {
+                    case "semilla" -> semilla = Long.parseLong(valor);
+                    case "socios" -> socios = Integer.parseInt(valor);
+                    case "hilos" -> hilos = Integer.parseInt(valor);
+                    case "calentamiento" -> calentamiento = Duration.ofSeconds(Long.parseLong(valor));
+                    case "segundos" -> duracion = Duration.ofSeconds(Long.parseLong(valor));
+                    case "lote-intereses" -> loteIntereses = Integer.parseInt(valor);
+                    case "inactivos" -> fraccionInactivos = Double.parseDouble(valor);
+                    case "archivar-dias" -> inactividadArchivo = Duration.ofDays(Long.parseLong(valor));
+                    case "mezcla" -> {
+                        mezcla.replaceAll((operacion, peso) -> 0);
+                        for (String entrada : valor.split(",")) {
+                            String[] par = entrada.split(":", 2);
+                            if (par.length != 2) {
+                                throw new IllegalArgumentException("Entrada de mezcla inválida: " + entrada);
+                            }
+                            mezcla.put(Operacion.valueOf(par[0].trim().toUpperCase()), Integer.parseInt(par[1].trim()));
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Argumento desconocido: " + partes[0]);
+                }
+            }
+
+            return new Configuracion(semilla, socios, hilos, calentamiento, duracion, mezcla, loteIntereses,
+                    fraccionInactivos, inactividadArchivo);
+        }
+    }
+
+    public record Resultado(Duration duracion,
+                            long operaciones,
+                            long rechazadas,
+                            Map<Operacion, HistogramaLatencia> latencias,
+                            Map<Operacion, Long> rechazadasPorOperacion,
+                            long bytesAsignados,
+                            long pausasGc,
+                            long tiempoPausasGcMs,
+                            long maximaPausaGcMs) {
+
+        public double operacionesPorSegundo() {
+            return operaciones / segundos();
+        }
+
+        /**
+         * Tasa de asignación en MB/s; negativa si la JVM no la soporta
+         */
+        public double tasaAsignacionMBs() {
+            return bytesAsignados < 0 ? -1.0 : bytesAsignados / (1024.0 * 1024.0) / segundos();
+        }
+
+        private double segundos() {
+            return Math.max(1, duracion.toNanos()) / 1e9;
+        }
+
+        public void imprimir() {
+            System.out.printf("""
+
+                            === RESULTADO DE LA SIMULACIÓN ===
+                            • Duración medida: %.1f s
+                            • Operaciones: %d (%d rechazadas)
+                            • Throughput: %.0f ops/s
+                            • Tasa de asignación: %.1f MB/s
+                            • Pausas de GC: %d (total %d ms, máxima %d ms)
+
+                            %-14s %12s %11s %10s %10s %10s %10s %10s
+                            """,
+                    segundos(), operaciones, rechazadas, operacionesPorSegundo(), tasaAsignacionMBs(),
+                    pausasGc, tiempoPausasGcMs, maximaPausaGcMs,
+                    "Operación", "Cantidad", "Rechazadas", "p50 µs", "p90 µs", "p99 µs", "p99.9 µs", "máx µs");
+
+            latencias.forEach((operacion, histograma) ->
+                    System.out.printf("%-14s %12d %11d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                            operacion, histograma.getTotal(), rechazadasPorOperacion.getOrDefault(operacion, 0L),
+                            histograma.percentil(50) / 1e3, histograma.percentil(90) / 1e3,
+                            histograma.percentil(99) / 1e3, histograma.percentil(99.9) / 1e3,
+                            histograma.getMaximo() / 1e3));
+        }
+    }
+
+    private final Configuracion configuracion;
+    private final Cooperativa cooperativa;
+    private final Operacion[] tiposOperacion;
+    private final int[] pesosAcumulados;
+    private int[] sociosConCredito = new int[0];
+    private long reactivacionesAntesDeCarga;
+    // Cuentas recorridas por el proceso de intereses; cada pasada completa es un día simulado
+    private final AtomicLong posicionIntereses = new AtomicLong();
+
+    public SimuladorCarga(Configuracion configuracion) {
+        this.configuracion = Objects.requireNonNull(configuracion, "La configuración no puede ser nula");
+        this.cooperativa = new Cooperativa("CoopRKC Simulada", "900000000-" + configuracion.semilla());
+        this.tiposOperacion = configuracion.mezcla().keySet().toArray(Operacion[]::new);
+        this.pesosAcumulados = new int[tiposOperacion.length];
+        int acumulado = 0;
+        for (int i = 0; i < tiposOperacion.length; i++) {
+            acumulado = Math.addExact(acumulado, configuracion.mezcla().get(tiposOperacion[i]));
+            pesosAcumulados[i] = acumulado;
+        }
+    }
+
+    public static void main(String[] args) {
+        try {
+            Logger.getLogger("").setLevel(Level.SEVERE);
+            var simulador = new SimuladorCarga(Configuracion.desdeArgumentos(args));
+            simulador.poblar();
+            simulador.archivarInactivos();
+            simulador.ejecutar().imprimir();
+            simulador.imprimirEstadisticasCache();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error en la simulación de carga", e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Genera los socios y cuentas sintéticos. Cada socio se deriva sólo de la
+     * semilla y su posición, por lo que la población es idéntica entre corridas.
+     */
+    public void poblar() {
+        long inicio = System.nanoTime();
+        List<Integer> conCredito = Collections.synchronizedList(new ArrayList<>());
+
+        for (int desde = 0; desde < configuracion.numeroSocios(); desde += TAMANO_LOTE_REGISTRO) {
+            int hasta = Math.min(desde + TAMANO_LOTE_REGISTRO, configuracion.numeroSocios());
+            List<Socio> lote = IntStream.range(desde, hasta)
+                    .parallel()
+                    .mapToObj(indice -> {
+                        Socio socio = generarSocio(indice);
+                        if (socio.streamCuentas().anyMatch(CuentaCredito.class::isInstance)) {
+                            conCredito.add(indice);
+                        }
+                        return socio;
+                    })
+                    .toList();
+
+            cooperativa.registrarSocios(lote);
+            cooperativa.agregarCuentas(lote.stream().flatMap(Socio::streamCuentas).toList());
+        }
+
+        sociosConCredito = conCredito.stream().mapToInt(Integer::intValue).sorted().toArray();
+        System.out.printf("Población generada: %d socios, %d cuentas, %d créditos en %.1f s%n",
+                cooperativa.getSocios().size(), cooperativa.getCuentas().size(),
+                sociosConCredito.length, (System.nanoTime() - inicio) / 1e9);
+    }
+
+    private Socio generarSocio(int indice) {
+        var aleatorio = new SplittableRandom(configuracion.semilla() + indice * CONSTANTE_MEZCLA);
+        String cedula = cedula(indice);
+        var socio = new Socio(NOMBRES.get(aleatorio.nextInt(NOMBRES.size())), cedula);
+
+        // Saldos con distribución log-normal: muchos saldos pequeños y pocos muy grandes
+        int cuentasAhorro = 1 + (aleatorio.nextDouble() < 0.3 ? 1 : 0) + (aleatorio.nextDouble() < 0.05 ? 1 : 0);
+        for (int i = 1; i <= cuentasAhorro; i++) {
+            double saldo = Math.min(5e8, Math.round(logNormal(aleatorio, 800_000, 1.3)));
+            double tasa = 0.005 + aleatorio.nextDouble() * 0.025;
+            socio.agregarCuenta(new CuentaAhorros("AH-" + cedula + "-" + i, saldo, tasa));
+        }
+
+        if (aleatorio.nextDouble() < 0.2) {
+            socio.agregarCuenta(generarCredito(aleatorio, cedula));
+        }
+
+        if (esInactivo(indice)) {
+            long diasSinMovimiento = 400 + aleatorio.nextInt(1_500);
+            socio.registrarActividad(System.currentTimeMillis() - diasSinMovimiento * MILISEGUNDOS_DIA);
+        }
+        return socio;
+    }
+
+    /**
+     * Decide si el socio es inactivo sólo a partir de la semilla y su posición
+     */
+    private boolean esInactivo(int indice) {
+        if (configuracion.fraccionInactivos() == 0) {
+            return false;
+        }
+        long mezcla = (configuracion.semilla() ^ 0x5DEECE66DL) + (indice + 1L) * CONSTANTE_MEZCLA;
+        mezcla = (mezcla ^ (mezcla >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mezcla = (mezcla ^ (mezcla >>> 27)) * 0x94D049BB133111EBL;
+        mezcla ^= mezcla >>> 31;
+        return (mezcla >>> 11) * 0x1.0p-53 < configuracion.fraccionInactivos();
+    }
+
+    /**
+     * Archiva los socios inactivos y reporta el heap ocupado antes y después
+     */
+    public void archivarInactivos() {
+        if (configuracion.inactividadArchivo().isZero()) {
+            return;
+        }
+
+        double saldoAntes = cooperativa.obtenerSumaTotalSaldos();
+        long heapAntes = heapUsado();
+        long inicio = System.nanoTime();
+        int archivados = cooperativa.archivarSociosInactivos(configuracion.inactividadArchivo());
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        double saldoDespues = cooperativa.obtenerSumaTotalSaldos();
+
+        // El primer GC libera las instancias archivadas; las estadísticas purgan sus referencias débiles
+        heapUsado();
+        AlmacenSociosInactivos.Estadisticas estadisticas = cooperativa.getEstadisticasNivelInactivo();
+        long heapDespues = heapUsado();
+
+        System.out.printf("""
+
+                        === ARCHIVO DE SOCIOS INACTIVOS ===
+                        • Socios archivados: %d (%d cuentas) en %.1f s
+                        • Heap usado: %.1f MB → %.1f MB
+                        • Almacén fuera del heap: %.1f MB comprimidos (%.1f MB reservados, compresión %.1fx)
+                        • Saldo total: $%.2f → $%.2f
+                        """,
+                archivados, estadisticas.cuentas(), segundos,
+                heapAntes / (1024.0 * 1024.0), heapDespues / (1024.0 * 1024.0),
+                estadisticas.bytesComprimidos() / (1024.0 * 1024.0),
+                estadisticas.bytesReservados() / (1024.0 * 1024.0),
+                estadisticas.razonCompresion(), saldoAntes, saldoDespues);
+    }
+
+    private static long heapUsado() {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Crédito con historial de pagos hasta la fecha de referencia; una parte
+     * de la cartera deja de pagar algunas cuotas para producir mora.
+     */
+    private static CuentaCredito generarCredito(SplittableRandom aleatorio, String cedula) {
+        int plazo = PLAZOS_CREDITO[aleatorio.nextInt(PLAZOS_CREDITO.length)];
+        double monto = Math.max(500_000, Math.round(logNormal(aleatorio, 5_000_000, 0.8)));
+        double tasa = 0.01 + aleatorio.nextDouble() * 0.015;
+        LocalDate desembolso = FECHA_REFERENCIA.minusDays(aleatorio.nextInt(plazo * 30));
+        var credito = new CuentaCredito("CR-" + cedula + "-1", monto, tasa, plazo, desembolso);
+
+        int cuotasImpagas = aleatorio.nextDouble() < 0.1 ? 1 + aleatorio.nextInt(4) : 0;
+        int cuotasPagadas = Math.max(0, credito.cuotasExigibles(FECHA_REFERENCIA) - cuotasImpagas);
+        for (int cuota = 1; cuota <= cuotasPagadas && !credito.estaCancelado(); cuota++) {
+            credito.causarIntereses(credito.fechaVencimiento(cuota));
+            credito.pagar(credito.valorProximaCuota());
+        }
+        credito.causarIntereses(FECHA_REFERENCIA);
+        return credito;
+    }
+
+    private static double logNormal(SplittableRandom aleatorio, double mediana, double sigma) {
+        return mediana * Math.exp(sigma * aleatorio.nextGaussian());
+    }
+
+    private static String cedula(int indice) {
+        return String.valueOf(CEDULA_BASE + indice);
+    }
+
+    /**
+     * Ejecuta la fase de calentamiento (descartada) y luego la fase medida
+     */
+    public Resultado ejecutar() throws Exception {
+        if (cooperativa.getSocios().isEmpty()) {
+            throw new IllegalStateException("La cooperativa no tiene socios; ejecute poblar() primero");
+        }
+        reactivacionesAntesDeCarga = cooperativa.getReactivacionesNivelInactivo();
+
+        if (!configuracion.calentamiento().isZero()) {
+            System.out.printf("Calentamiento de %d s con %d hilo(s)...%n",
+                    configuracion.calentamiento().toSeconds(), configuracion.hilos());
+            ejecutarFase(0, configuracion.calentamiento());
+        }
+
+        System.out.printf("Midiendo durante %d s con %d hilo(s)...%n",
+                configuracion.duracion().toSeconds(), configuracion.hilos());
+        return ejecutarFase(1, configuracion.duracion());
+    }
+
+    private Resultado ejecutarFase(int fase, Duration duracion) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(configuracion.hilos());
+        var monitorGc = new MonitorGc();
+
+        try {
+            long asignadosAntes = bytesAsignadosTodosLosHilos();
+            long inicio = System.nanoTime();
+            long limite = inicio + duracion.toNanos();
+            List<Cuenta> cuentasFase = cooperativa.getCuentas();
+            List<Future<Trabajador>> pendientes = new ArrayList<>();
+            for (int hilo = 0; hilo < configuracion.hilos(); hilo++) {
+                long semillaHilo = configuracion.semilla() ^ ((fase * 1_000_003L + hilo + 1) * CONSTANTE_MEZCLA);
+                var trabajador = new Trabajador(semillaHilo, limite, cuentasFase);
+                pendientes.add(ejecutor.submit(trabajador::ejecutar));
+            }
+
+            Map<Operacion, HistogramaLatencia> latencias = new EnumMap<>(Operacion.class);
+            Map<Operacion, Long> rechazadasPorOperacion = new EnumMap<>(Operacion.class);
+            long operaciones = 0;
+            for (Future<Trabajador> pendiente : pendientes) {
+                Trabajador trabajador = pendiente.get();
+                trabajador.latencias.forEach((operacion, histograma) ->
+                        latencias.computeIfAbsent(operacion, o -> new HistogramaLatencia()).fusionar(histograma));
+                trabajador.rechazadas.forEach((operacion, cantidad) ->
+                        rechazadasPorOperacion.merge(operacion, cantidad, Long::sum));
+                operaciones += trabajador.operaciones;
+            }
+            Duration medida = Duration.ofNanos(System.nanoTime() - inicio);
+            long bytesAsignados = asignadosAntes < 0 ? -1 : bytesAsignadosTodosLosHilos() - asignadosAntes;
+            long rechazadas = rechazadasPorOperacion.values().stream().mapToLong(Long::longValue).sum();
+
+            return new Resultado(medida, operaciones, rechazadas, Collections.unmodifiableMap(latencias),
+                    Collections.unmodifiableMap(rechazadasPorOperacion), bytesAsignados,
+                    monitorGc.pausas.get(), monitorGc.tiempoTotalMs.get(), monitorGc.maximaMs.get());
+        } finally {
+            monitorGc.detener();
+            ejecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Hilo de carga: cada uno tiene su propio generador e histogramas
+     */
+    private final class Trabajador {
+        private final SplittableRandom aleatorio;
+        private final long limite;
+        private final List<Cuenta> cuentas;
+        private final Map<Operacion, HistogramaLatencia> latencias = new EnumMap<>(Operacion.class);
+        private final Map<Operacion, Long> rechazadas = new EnumMap<>(Operacion.class);
+        private long operaciones;
+
+        Trabajador(long semilla, long limite, List<Cuenta> cuentas) {
+            this.aleatorio = new SplittableRandom(semilla);
+            this.limite = limite;
+            this.cuentas = cuentas;
+            Arrays.stream(Operacion.values()).forEach(o -> latencias.put(o, new HistogramaLatencia()));
+        }
+
+        Trabajador ejecutar() {
+            while (System.nanoTime() < limite) {
+                Operacion operacion = elegirOperacion();
+                long inicio = System.nanoTime();
+                try {
+                    ejecutarOperacion(operacion);
+                } catch (IllegalArgumentException e) {
+                    rechazadas.merge(operacion, 1L, Long::sum);
+                }
+                latencias.get(operacion).registrar(System.nanoTime() - inicio);
+                operaciones++;
+            }
+            return this;
+        }
+
+        private Operacion elegirOperacion() {
+            int valor = aleatorio.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+            int i = 0;
+            while (valor >= pesosAcumulados[i]) {
+                i++;
+            }
+            return tiposOperacion[i];
+        }
+
+        private void ejecutarOperacion(Operacion operacion) {
+            switch (operacion) {
+                case DEPOSITO -> new Deposito(cuentaAhorrosAleatoria(), montoAleatorio()).ejecutar();
+                case RETIRO -> new Retiro(cuentaAhorrosAleatoria(), montoAleatorio()).ejecutar();
+                case TRANSFERENCIA -> {
+                    Cuenta origen = cuentaAhorrosAleatoria();
+                    Cuenta destino = cuentaAhorrosAleatoria();
+                    if (!origen.equals(destino)) {
+                        new Transferencia(origen, destino, montoAleatorio()).ejecutar();
+                    }
+                }
+                case PAGO_CUOTA -> {
+                    if (sociosConCredito.length > 0) {
+                        int indice = sociosConCredito[aleatorio.nextInt(sociosConCredito.length)];
+                        while (esInactivo(indice) && aleatorio.nextDouble() >= PROBABILIDAD_DESPERTAR) {
+                            indice = sociosConCredito[aleatorio.nextInt(sociosConCredito.length)];
+                        }
+                        var credito = (CuentaCredito) cooperativa.buscarCuenta("CR-" + cedula(indice) + "-1");
+                        // Un crédito pagado se renueva; si no, la cartera se agota y sólo quedan rechazos
+                        if (credito.estaCancelado()) {
+                            credito.renovar(credito.getMontoDesembolsado(), credito.getFechaUltimaCausacion());
+                        }
+                        new PagoCuota(credito).ejecutar();
+                    }
+                }
+                case INTERESES -> liquidarLoteIntereses();
+                case CONSULTA_CARTERA -> cooperativa.consultarCarteraSocio(cedula(socioConsultado()));
+                case REPORTE -> {
+                    if (aleatorio.nextBoolean()) {
+                        cooperativa.obtenerSumaTotalSaldos();
+                    } else {
+                        cooperativa.evaluarCartera(fechaSimulada(cuentas.size()));
+                    }
+                }
+            }
+        }
+
+        private Cuenta cuentaAhorrosAleatoria() {
+            Socio socio = cooperativa.buscarSocioPorCedula(cedula(socioAleatorio()));
+            List<Cuenta> cuentas = socio.getCuentas();
+            Cuenta cuenta = cuentas.get(aleatorio.nextInt(cuentas.size()));
+            // La primera cuenta de cada socio sintético siempre es de ahorros
+            return cuenta instanceof CuentaAhorros ? cuenta : cuentas.get(0);
+        }
+
+        /**
+         * El portal concentra las consultas en pocos socios: el 80% va al 1% más activo
+         */
+        private int socioConsultado() {
+            int socios = configuracion.numeroSocios();
+            int indice;
+            do {
+                indice = aleatorio.nextDouble() < 0.8
+                        ? aleatorio.nextInt(Math.max(1, socios / 100))
+                        : aleatorio.nextInt(socios);
+            } while (esInactivo(indice) && aleatorio.nextDouble() >= PROBABILIDAD_DESPERTAR);
+            return indice;
+        }
+
+        /**
+         * Los socios inactivos sólo se eligen de vez en cuando, como un socio
+         * que vuelve después de años sin movimientos
+         */
+        private int socioAleatorio() {
+            int indice;
+            do {
+                indice = aleatorio.nextInt(configuracion.numeroSocios());
+            } while (esInactivo(indice) && aleatorio.nextDouble() >= PROBABILIDAD_DESPERTAR);
+            return indice;
+        }
+
+        private double montoAleatorio() {
+            return Math.max(1_000, Math.round(logNormal(aleatorio, 150_000, 1.0)));
+        }
+
+        /**
+         * Liquida intereses sobre el siguiente bloque de cuentas de la cooperativa,
+         * como el proceso nocturno que avanza por lotes. Los créditos causan hasta
+         * el día simulado de la pasada y cada mes simulado abre una liquidación de
+         * ahorros, así que los saldos crecen al ritmo del calendario y no del lote.
+         */
+        private void liquidarLoteIntereses() {
+            int total = cuentas.size();
+            int lote = configuracion.loteIntereses();
+            long posicion = posicionIntereses.getAndAdd(lote);
+            int desde = (int) (posicion % total);
+            LocalDate fecha = fechaSimulada(posicion, total);
+
+            // Sólo un lote por pasada empieza a menos de un lote del inicio
+            if (desde < lote && fecha.getDayOfMonth() == 1 && posicion >= total) {
+                cooperativa.abrirLiquidacionAhorro();
+            }
+            cooperativa.liquidarInteresesLote(desde, Math.min(lote, total - desde), fecha);
+        }
+    }
+
+    private LocalDate fechaSimulada(int totalCuentas) {
+        return fechaSimulada(posicionIntereses.get(), totalCuentas);
+    }
+
+    private static LocalDate fechaSimulada(long posicion, int totalCuentas) {
+        return FECHA_REFERENCIA.plusDays(posicion / Math.max(1, totalCuentas));
+    }
+
+    public void imprimirEstadisticasCache() {
+        AlmacenSociosInactivos.Estadisticas inactivos = cooperativa.getEstadisticasNivelInactivo();
+        long reactivados = cooperativa.getReactivacionesNivelInactivo() - reactivacionesAntesDeCarga;
+        if (inactivos.socios() > 0 || reactivados > 0) {
+            System.out.printf("%nSocios archivados al final: %d (%d reactivados durante la carga)%n",
+                    inactivos.socios(), reactivados);
+        }
+
+        CacheCarteraSocios.Estadisticas estadisticas = cooperativa.getEstadisticasCacheCartera();
+        System.out.printf("""
+
+                        === CACHÉ DE CARTERA POR SOCIO ===
+                        • Tasa de aciertos: %.1f%% (%d aciertos, %d fallos)
+                        • Ocupación: %d de %d vistas
+                        • Desalojos: %d, actualizaciones: %d, invalidaciones: %d
+                        """,
+                estadisticas.tasaAciertos() * 100, estadisticas.aciertos(), estadisticas.fallos(),
+                estadisticas.tamano(), estadisticas.capacidad(),
+                estadisticas.desalojos(), estadisticas.actualizaciones(), estadisticas.invalidaciones());
+    }
+
+    /**
+     * Bytes asignados por todos los hilos vivos, incluido el pool común que usan
+     * los streams paralelos de los reportes. Lo asignado por un hilo que termina
+     * durante la fase se pierde, así que la cifra es una cota inferior.
+     */
+    private static long bytesAsignadosTodosLosHilos() {
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        if (hilos instanceof com.sun.management.ThreadMXBean hilosSun
+                && hilosSun.isThreadAllocatedMemorySupported()
+                && hilosSun.isThreadAllocatedMemoryEnabled()) {
+            return Arrays.stream(hilosSun.getThreadAllocatedBytes(hilosSun.getAllThreadIds()))
+                    .filter(bytes -> bytes > 0)
+                    .sum();
+        }
+        return -1;
+    }
+
+    /**
+     * Registra las pausas de GC reportadas por las notificaciones de la JVM.
+     * Los ciclos concurrentes se ignoran porque no detienen la aplicación.
+     */
+    private static final class MonitorGc implements NotificationListener {
+        private final AtomicLong pausas = new AtomicLong();
+        private final AtomicLong tiempoTotalMs = new AtomicLong();
+        private final AtomicLong maximaMs = new AtomicLong();
+        private final List<NotificationEmitter> emisores = new ArrayList<>();
+
+        MonitorGc() {
+            for (GarbageCollectorMXBean colector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (colector instanceof NotificationEmitter emisor) {
+                    emisor.addNotificationListener(this, null, null);
+                    emisores.add(emisor);
+                }
+            }
+        }
+
+        @Override
+        public void handleNotification(Notification notificacion, Object contexto) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notificacion.getType())) {
+                return;
+            }
+
+            var info = GarbageCollectionNotificationInfo.from((CompositeData) notificacion.getUserData());
+            if (info.getGcName().contains("Concurrent") || info.getGcName().contains("Cycles")) {
+                return;
+            }
+
+            long duracionMs = info.getGcInfo().getDuration();
+            pausas.incrementAndGet();
+            tiempoTotalMs.addAndGet(duracionMs);
+            maximaMs.accumulateAndGet(duracionMs, Math::max);
+        }
+
+        void detener() {
+            for (NotificationEmitter emisor : emisores) {
+                try {
+                    emisor.removeNotificationListener(this);
+                } catch (Exception e) {
+                    LOGGER.log(Level.FINE, "No se pudo retirar el monitor de GC", e);
+                }
+            }
+        }
+    }
+
+    private static List<String> combinarNombres(List<String> nombres, List<String> apellidos) {
+        return nombres.stream()
+                .flatMap(nombre -> apellidos.stream().map(apellido -> nombre + " " + apellido))
+                .toList();
+    }
+
+    public Cooperativa getCooperativa() {
+        return cooperativa;
+    }
+
+    public Configuracion getConfiguracion() {
+        return configuracion;
+    }
+}
@@ -2,6 +2,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 /**
@@ -12,6 +13,11 @@ public final class Socio {
     private final String nombre;
     private final String cedula;
     private final List<Cuenta> cuentas;
+    private final List<Cuenta> cuentasSoloLectura;
+    private final AtomicLong versionSaldos;
+    private volatile ObservadorSaldo observadorSaldo;
+    private volatile long ultimaActividad;
+    private volatile boolean archivado;
 
     public Socio(String nombre, String cedula) {
         this.nombre = Objects.requireNonNull(nombre, "El nombre no puede ser nulo");
@@ -25,6 +31,9 @@ public final class Socio {
         }
 
         this.cuentas = new ArrayList<>();
+        this.cuentasSoloLectura = Collections.unmodifiableList(cuentas);
+        this.versionSaldos = new AtomicLong();
+        this.ultimaActividad = System.currentTimeMillis();
     }
 
     /**
@@ -38,8 +47,72 @@ public final class Socio {
             throw new IllegalArgumentException(
                     "Ya existe una cuenta con el número: " + cuenta.getNumeroCuenta());
         }
+        if (cuenta.getTitular() != null && cuenta.getTitular() != this) {
+            throw new IllegalArgumentException(
+                    "La cuenta " + cuenta.getNumeroCuenta() + " ya pertenece a otro socio");
+        }
 
         cuentas.add(cuenta);
+        cuenta.asignarTitular(this);
+        versionSaldos.incrementAndGet();
+
+        ObservadorSaldo observador = observadorSaldo;
+        if (observador != null) {
+            observador.cuentasCambiadas(this);
+        }
+    }
+
+    /**
+     * Llamado por las cuentas del socio con cada cambio de estado. Un pago que
+     * sólo cubre intereses o comisiones no mueve el saldo pero sí la cuenta.
+     */
+    void notificarCambioCuenta(Cuenta cuenta, double saldoAnterior, double saldoNuevo, boolean movimiento) {
+        versionSaldos.incrementAndGet();
+        if (movimiento) {
+            ultimaActividad = System.currentTimeMillis();
+        }
+
+        ObservadorSaldo observador = observadorSaldo;
+        if (observador != null) {
+            if (saldoAnterior != saldoNuevo) {
+                observador.saldoCambiado(this, cuenta, saldoAnterior, saldoNuevo);
+            }
+            observador.cuentaModificada(this, cuenta);
+        }
+    }
+
+    public void setObservadorSaldo(ObservadorSaldo observadorSaldo) {
+        this.observadorSaldo = observadorSaldo;
+    }
+
+    /**
+     * Contador que aumenta con cada cambio de saldo o de cuentas del socio
+     */
+    public long getVersionSaldos() {
+        return versionSaldos.get();
+    }
+
+    /**
+     * Momento (epoch en milisegundos) del último movimiento del socio; las
+     * liquidaciones de intereses no cuentan
+     */
+    public long getUltimaActividad() {
+        return ultimaActividad;
+    }
+
+    void registrarActividad(long momento) {
+        this.ultimaActividad = momento;
+    }
+
+    /**
+     * Indica si el socio está en el nivel de socios inactivos de la cooperativa
+     */
+    public boolean isArchivado() {
+        return archivado;
+    }
+
+    void marcarArchivado(boolean archivado) {
+        this.archivado = archivado;
     }
 
     /**
@@ -50,10 +123,21 @@ public final class Socio {
     }
 
     /**
-     * Calcula saldo total usando streams
+     * Calcula el saldo total depositado usando streams; los créditos no suman
      */
     public double calcularSaldoTotal() {
         return cuentas.stream()
+                .filter(Cuenta::esDeposito)
+                .mapToDouble(Cuenta::getSaldo)
+                .sum();
+    }
+
+    /**
+     * Capital pendiente de los créditos del socio
+     */
+    public double calcularCapitalCreditos() {
+        return cuentas.stream()
+                .filter(cuenta -> !cuenta.esDeposito())
                 .mapToDouble(Cuenta::getSaldo)
                 .sum();
     }
@@ -68,7 +152,7 @@ public final class Socio {
     }
 
     public List<Cuenta> getCuentas() {
-        return Collections.unmodifiableList(cuentas);
+        return cuentasSoloLectura;
     }
 
     @Override
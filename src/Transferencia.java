@@ -0,0 +1,80 @@
+import java.util.Objects;
+import java.util.logging.Logger;
+
+public final class Transferencia implements Transaccion {
+    private static final Logger LOGGER = Logger.getLogger(Transferencia.class.getName());
+
+    private final Cuenta origen;
+    private final Cuenta destino;
+    private final double monto;
+    private final String tipo = "TRANSFERENCIA";
+
+    public Transferencia(Cuenta origen, Cuenta destino, double monto) {
+        this.origen = Objects.requireNonNull(origen, "La cuenta de origen no puede ser nula");
+        this.destino = Objects.requireNonNull(destino, "La cuenta de destino no puede ser nula");
+        if (origen.equals(destino)) {
+            throw new IllegalArgumentException("La cuenta de origen y destino deben ser diferentes");
+        }
+        if (monto <= 0) {
+            throw new IllegalArgumentException("El monto de la transferencia debe ser mayor a 0");
+        }
+        this.monto = monto;
+    }
+
+    @Override
+    public void ejecutar() throws IllegalArgumentException {
+        // Bloquear siempre en el mismo orden para evitar interbloqueos entre transferencias cruzadas
+        boolean origenPrimero = origen.getNumeroCuenta().compareTo(destino.getNumeroCuenta()) < 0;
+        Cuenta primera = origenPrimero ? origen : destino;
+        Cuenta segunda = origenPrimero ? destino : origen;
+
+        try {
+            synchronized (primera) {
+                synchronized (segunda) {
+                    origen.retirar(monto);
+                    try {
+                        destino.depositar(monto);
+                    } catch (RuntimeException e) {
+                        origen.depositar(monto);
+                        throw e;
+                    }
+                }
+            }
+
+            LOGGER.info(String.format("Transferencia ejecutada: Origen %s, Destino %s, Monto: %.2f",
+                    origen.getNumeroCuenta(), destino.getNumeroCuenta(), monto));
+
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Transferencia rechazada: " + e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            LOGGER.severe("Error inesperado al ejecutar transferencia: " + e.getMessage());
+            throw new IllegalArgumentException("No se pudo ejecutar la transferencia: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public double getMonto() {
+        return monto;
+    }
+
+    @Override
+    public Cuenta getCuenta() {
+        return origen;
+    }
+
+    public Cuenta getDestino() {
+        return destino;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Transferencia{origen='%s', destino='%s', monto=%.2f}",
+                origen.getNumeroCuenta(), destino.getNumeroCuenta(), monto);
+    }
+}